@@ -1,9 +1,17 @@
 create table tb_category (id  bigserial not null, created_at TIMESTAMP WITHOUT TIME ZONE, name varchar(255), updated_at TIMESTAMP WITHOUT TIME ZONE, primary key (id));
 create table tb_product (id  bigserial not null, created_at TIMESTAMP WITHOUT TIME ZONE, date TIMESTAMP WITHOUT TIME ZONE, description Text, img_url varchar(255), name varchar(255), price float8, updated_at TIMESTAMP WITHOUT TIME ZONE, primary key (id));
 create table tb_product_category (product_id int8 not null, category_id int8 not null, primary key (product_id, category_id));
+create table tb_product_tombstone (product_id int8 not null, deleted_at TIMESTAMP WITHOUT TIME ZONE, primary key (product_id));
 create table tb_role (id  bigserial not null, authority varchar(255), primary key (id));
 create table tb_user (id  bigserial not null, email varchar(255), first_name varchar(255), last_name varchar(255), password varchar(255), primary key (id));
 create table tb_user_role (user_id int8 not null, role_id int8 not null, primary key (user_id, role_id));
+create index idx_product_name_id on tb_product (name, id);
+create index idx_product_price_id on tb_product (price, id);
+create index idx_product_date_id on tb_product (date, id);
+create index idx_product_created_at on tb_product (created_at);
+create index idx_product_updated_at on tb_product (updated_at);
+create index idx_product_modified_at_id on tb_product ((COALESCE(updated_at, created_at)), id);
+create index idx_product_tombstone_deleted_at_id on tb_product_tombstone (deleted_at, product_id);
 alter table tb_user add constraint UK_4vih17mube9j7cqyjlfbcrk4m unique (email);
 alter table tb_product_category add constraint FK5r4sbavb4nkd9xpl0f095qs2a foreign key (category_id) references tb_category;
 alter table tb_product_category add constraint FKgbof0jclmaf8wn2alsoexxq3u foreign key (product_id) references tb_product;
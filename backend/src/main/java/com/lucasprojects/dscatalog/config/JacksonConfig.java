@@ -0,0 +1,63 @@
+package com.lucasprojects.dscatalog.config;
+
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lucasprojects.dscatalog.entities.dtos.PageDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.cache.ProductJsonCache;
+
+@Configuration
+public class JacksonConfig {
+
+	// DTOs with a sparse fieldset filter serialize every property unless a response selects some
+	@Bean
+	Jackson2ObjectMapperBuilderCustomizer fieldSelectionCustomizer() {
+		return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+	}
+
+	@Bean
+	Jackson2ObjectMapperBuilderCustomizer productJsonCacheCustomizer(ProductJsonCache cache) {
+		SimpleModule module = new SimpleModule("ProductJsonCache");
+		module.setSerializerModifier(new BeanSerializerModifier() {
+			@Override
+			@SuppressWarnings("unchecked")
+			public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc,
+					JsonSerializer<?> serializer) {
+				if (beanDesc.getBeanClass() == ProductDTO.class) {
+					return new ProductJsonSerializer((JsonSerializer<Object>) serializer, cache);
+				}
+				return serializer;
+			}
+		});
+		return builder -> builder.modulesToInstall(module);
+	}
+
+	@Bean
+	Jackson2ObjectMapperBuilderCustomizer pageCustomizer() {
+		return builder -> builder.serializerByType(PageDTO.class, new PageJsonSerializer());
+	}
+
+	// Same customizations as the JSON mapper, so sparse fieldsets work in binary formats too
+	@Bean
+	MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+}
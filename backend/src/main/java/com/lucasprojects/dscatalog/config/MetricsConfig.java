@@ -0,0 +1,66 @@
+package com.lucasprojects.dscatalog.config;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.lucasprojects.dscatalog.services.cache.ProductJsonCache;
+import com.lucasprojects.dscatalog.services.cache.ProductQueryCache;
+import com.lucasprojects.dscatalog.services.cache.ProductViewCache;
+import com.lucasprojects.dscatalog.services.search.FullTextIndex;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+	// The indexes load through JPA, which itself binds meters, so they are only resolved when a gauge is read
+	@Bean
+	MeterBinder fullTextIndexMetrics(ObjectProvider<FullTextIndex> index) {
+		return registry -> {
+			Gauge.builder("catalog.search.fulltext.documents", () -> index.getObject().size()).register(registry);
+			Gauge.builder("catalog.search.fulltext.terms", () -> index.getObject().terms()).register(registry);
+			Gauge.builder("catalog.search.fulltext.memory", () -> index.getObject().memoryBytes()).baseUnit("bytes")
+					.register(registry);
+		};
+	}
+
+	@Bean
+	MeterBinder productQueryCacheMetrics(ProductQueryCache cache) {
+		return registry -> {
+			FunctionCounter.builder("catalog.cache.products.gets", cache, ProductQueryCache::hits).tag("result", "hit")
+					.register(registry);
+			FunctionCounter.builder("catalog.cache.products.gets", cache, ProductQueryCache::misses).tag("result", "miss")
+					.register(registry);
+			FunctionCounter.builder("catalog.cache.products.evictions", cache, ProductQueryCache::evictions)
+					.register(registry);
+			Gauge.builder("catalog.cache.products.size", cache, ProductQueryCache::size).register(registry);
+		};
+	}
+
+	@Bean
+	MeterBinder productJsonCacheMetrics(ProductJsonCache cache) {
+		return registry -> {
+			FunctionCounter.builder("catalog.cache.product-json.gets", cache, ProductJsonCache::hits).tag("result", "hit")
+					.register(registry);
+			FunctionCounter.builder("catalog.cache.product-json.gets", cache, ProductJsonCache::misses).tag("result", "miss")
+					.register(registry);
+			Gauge.builder("catalog.cache.product-json.size", cache, ProductJsonCache::size).register(registry);
+		};
+	}
+
+	@Bean
+	MeterBinder productViewCacheMetrics(ProductViewCache cache) {
+		return registry -> {
+			FunctionCounter.builder("catalog.cache.product-views.gets", cache, ProductViewCache::hits).tag("result", "hit")
+					.register(registry);
+			FunctionCounter.builder("catalog.cache.product-views.gets", cache, ProductViewCache::misses).tag("result", "miss")
+					.register(registry);
+			FunctionCounter.builder("catalog.cache.product-views.evictions", cache, ProductViewCache::evictions)
+					.register(registry);
+			Gauge.builder("catalog.cache.product-views.size", cache, ProductViewCache::size).register(registry);
+		};
+	}
+}
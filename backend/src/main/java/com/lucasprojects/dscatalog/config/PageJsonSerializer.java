@@ -0,0 +1,58 @@
+package com.lucasprojects.dscatalog.config;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.lucasprojects.dscatalog.entities.dtos.PageDTO;
+
+/**
+ * Writes {@link PageDTO} field by field, handing each content element to
+ * its serializer as it goes, so no intermediate tree is built and absent
+ * values cost nothing.
+ */
+@SuppressWarnings("rawtypes")
+class PageJsonSerializer extends StdSerializer<PageDTO> {
+	private static final long serialVersionUID = 1L;
+
+	PageJsonSerializer() {
+		super(PageDTO.class);
+	}
+
+	@Override
+	public void serialize(PageDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		gen.writeStartObject(value);
+		gen.writeFieldName("content");
+		gen.writeStartArray();
+		Class<?> type = null;
+		JsonSerializer<Object> serializer = null;
+		for (Object item : value.getContent()) {
+			if (item == null) {
+				provider.defaultSerializeNull(gen);
+				continue;
+			}
+			if (item.getClass() != type) {
+				type = item.getClass();
+				serializer = provider.findValueSerializer(type);
+			}
+			serializer.serialize(item, gen, provider);
+		}
+		gen.writeEndArray();
+		if (value.getPage() != null) {
+			gen.writeNumberField("page", value.getPage());
+		}
+		if (value.getSize() != null) {
+			gen.writeNumberField("size", value.getSize());
+		}
+		if (value.getTotalElements() != null) {
+			gen.writeNumberField("totalElements", value.getTotalElements());
+		}
+		gen.writeBooleanField("hasNext", value.isHasNext());
+		if (value.getNextCursor() != null) {
+			gen.writeStringField("nextCursor", value.getNextCursor());
+		}
+		gen.writeEndObject();
+	}
+}
@@ -0,0 +1,57 @@
+package com.lucasprojects.dscatalog.config;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.cache.ProductJsonCache;
+import com.lucasprojects.dscatalog.utils.FieldSelection;
+
+/**
+ * Writes products from {@link ProductJsonCache} when possible, otherwise
+ * with the regular bean serializer, caching its output. Responses with a
+ * sparse fieldset or in a binary format always go through the bean
+ * serializer.
+ */
+class ProductJsonSerializer extends StdSerializer<ProductDTO> {
+	private static final long serialVersionUID = 1L;
+
+	private final JsonSerializer<Object> delegate;
+	private final ProductJsonCache cache;
+
+	ProductJsonSerializer(JsonSerializer<Object> delegate, ProductJsonCache cache) {
+		super(ProductDTO.class);
+		this.delegate = delegate;
+		this.cache = cache;
+	}
+
+	@Override
+	public void serialize(ProductDTO value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+		ObjectCodec codec = gen.getCodec();
+		FilterProvider filters = provider.getFilterProvider();
+		if (!(codec instanceof ObjectMapper mapper) || !JsonFactory.FORMAT_NAME_JSON.equals(mapper.getFactory().getFormatName())
+				|| (filters != null && filters.findPropertyFilter(FieldSelection.FILTER, value) != null)
+				|| Boolean.TRUE.equals(provider.getAttribute(ProductJsonCache.BYPASS))) {
+			delegate.serialize(value, gen, provider);
+			return;
+		}
+		byte[] json = cache.get(value);
+		if (json == null) {
+			try (ByteArrayBuilder bytes = new ByteArrayBuilder(); JsonGenerator fragment = mapper.getFactory().createGenerator(bytes)) {
+				delegate.serialize(value, fragment, provider);
+				fragment.flush();
+				json = bytes.toByteArray();
+			}
+			cache.put(value, json);
+		}
+		gen.writeRawValue(new RawJson(json));
+	}
+}
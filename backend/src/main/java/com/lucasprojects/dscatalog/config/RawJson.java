@@ -0,0 +1,101 @@
+package com.lucasprojects.dscatalog.config;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.SerializableString;
+
+/**
+ * UTF-8 JSON written verbatim with {@code writeRawValue}. Byte-based
+ * generators copy the bytes as they are; only character-based ones decode
+ * them. Raw JSON is never written as a quoted string.
+ */
+final class RawJson implements SerializableString {
+
+	private final byte[] utf8;
+
+	RawJson(byte[] utf8) {
+		this.utf8 = utf8;
+	}
+
+	@Override
+	public String getValue() {
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public int charLength() {
+		return getValue().length();
+	}
+
+	@Override
+	public byte[] asUnquotedUTF8() {
+		return utf8;
+	}
+
+	@Override
+	public int appendUnquotedUTF8(byte[] buffer, int offset) {
+		if (offset + utf8.length > buffer.length) {
+			return -1;
+		}
+		System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+		return utf8.length;
+	}
+
+	@Override
+	public int appendUnquoted(char[] buffer, int offset) {
+		String value = getValue();
+		if (offset + value.length() > buffer.length) {
+			return -1;
+		}
+		value.getChars(0, value.length(), buffer, offset);
+		return value.length();
+	}
+
+	@Override
+	public int writeUnquotedUTF8(OutputStream out) throws IOException {
+		out.write(utf8);
+		return utf8.length;
+	}
+
+	@Override
+	public int putUnquotedUTF8(ByteBuffer buffer) {
+		if (utf8.length > buffer.remaining()) {
+			return -1;
+		}
+		buffer.put(utf8);
+		return utf8.length;
+	}
+
+	@Override
+	public char[] asQuotedChars() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public byte[] asQuotedUTF8() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int appendQuotedUTF8(byte[] buffer, int offset) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int appendQuoted(char[] buffer, int offset) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int writeQuotedUTF8(OutputStream out) {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public int putQuotedUTF8(ByteBuffer buffer) {
+		throw new UnsupportedOperationException();
+	}
+}
@@ -0,0 +1,27 @@
+package com.lucasprojects.dscatalog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class TaskExecutionConfig {
+
+	// Declared again, since Spring Boot backs off from its own executor as soon as any other one is defined
+	@Lazy
+	@Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+	ThreadPoolTaskExecutor applicationTaskExecutor(TaskExecutorBuilder builder) {
+		return builder.build();
+	}
+
+	// Sends to stream subscribers block, so they get their own threads instead of the request and export ones
+	@Bean
+	ThreadPoolTaskExecutor changeFeedExecutor(TaskExecutorBuilder builder,
+			@Value("${change-feed.sender-threads}") int threads) {
+		return builder.corePoolSize(threads).maxPoolSize(threads).threadNamePrefix("change-feed-").build();
+	}
+}
@@ -11,6 +11,7 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
 import javax.persistence.ManyToMany;
@@ -19,7 +20,12 @@ import javax.persistence.PreUpdate;
 import javax.persistence.Table;
 
 @Entity
-@Table(name = "tb_product")
+@Table(name = "tb_product", indexes = {
+		@Index(name = "idx_product_name_id", columnList = "name, id"),
+		@Index(name = "idx_product_price_id", columnList = "price, id"),
+		@Index(name = "idx_product_date_id", columnList = "date, id"),
+		@Index(name = "idx_product_created_at", columnList = "createdAt"),
+		@Index(name = "idx_product_updated_at", columnList = "updatedAt") })
 public class Product implements Serializable {
 	private static final long serialVersionUID = 1L;
 
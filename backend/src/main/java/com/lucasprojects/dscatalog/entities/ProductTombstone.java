@@ -0,0 +1,61 @@
+package com.lucasprojects.dscatalog.entities;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+/**
+ * Marker left behind by a deleted product so clients syncing changes learn
+ * about the deletion.
+ */
+@Entity
+@Table(name = "tb_product_tombstone", indexes = {
+		@Index(name = "idx_product_tombstone_deleted_at_id", columnList = "deletedAt, productId") })
+public class ProductTombstone implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	@Id
+	private Long productId;
+
+	@Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+	private Instant deletedAt;
+
+	public ProductTombstone() {
+	}
+
+	public ProductTombstone(Long productId, Instant deletedAt) {
+		this.productId = productId;
+		this.deletedAt = deletedAt;
+	}
+
+	public Long getProductId() {
+		return productId;
+	}
+
+	public Instant getDeletedAt() {
+		return deletedAt;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(productId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ProductTombstone other = (ProductTombstone) obj;
+		return Objects.equals(productId, other.productId);
+	}
+}
@@ -0,0 +1,42 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkChangeNotificationDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private long affected;
+	private List<Long> changedIds = new ArrayList<>();
+	private List<Long> deletedIds = new ArrayList<>();
+
+	public BulkChangeNotificationDTO() {
+	}
+
+	public BulkChangeNotificationDTO(long affected, List<Long> changedIds, List<Long> deletedIds) {
+		this.affected = affected;
+		this.changedIds = changedIds;
+		this.deletedIds = deletedIds;
+	}
+
+	public long getAffected() {
+		return affected;
+	}
+
+	/**
+	 * Ids of the inserted or updated products; their state is available
+	 * through {@code /products?ids=}.
+	 */
+	public List<Long> getChangedIds() {
+		return changedIds;
+	}
+
+	/**
+	 * Ids of the deleted products, possibly including ids that did not
+	 * exist.
+	 */
+	public List<Long> getDeletedIds() {
+		return deletedIds;
+	}
+}
@@ -1,7 +1,9 @@
 package com.lucasprojects.dscatalog.entities.dtos;
 
 import java.io.Serializable;
+import java.time.Instant;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.lucasprojects.dscatalog.entities.Category;
 
 public class CategoryDTO implements Serializable {
@@ -9,6 +11,9 @@ public class CategoryDTO implements Serializable {
 
 	private Long id;
 	private String name;
+
+	@JsonIgnore
+	private Instant updatedAt;
 	
 	public CategoryDTO() {
 	}
@@ -21,6 +26,13 @@ public class CategoryDTO implements Serializable {
 	public CategoryDTO(Category category) {
 		id = category.getId();
 		name = category.getName();
+		updatedAt = (category.getUpdatedAt() != null) ? category.getUpdatedAt() : category.getCreatedAt();
+	}
+
+	public CategoryDTO(CategoryDTO other) {
+		id = other.id;
+		name = other.name;
+		updatedAt = other.updatedAt;
 	}
 
 	public Long getId() {
@@ -38,4 +50,15 @@ public class CategoryDTO implements Serializable {
 	public void setName(String name) {
 		this.name = name;
 	}
+
+	/**
+	 * When the category was last modified, or {@code null} when unknown.
+	 */
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
 }
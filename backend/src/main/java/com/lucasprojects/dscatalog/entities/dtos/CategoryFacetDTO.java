@@ -0,0 +1,34 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+
+import com.lucasprojects.dscatalog.entities.Category;
+
+public class CategoryFacetDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long id;
+	private String name;
+	private Integer count;
+
+	public CategoryFacetDTO() {
+	}
+
+	public CategoryFacetDTO(Category category, Integer count) {
+		id = category.getId();
+		name = category.getName();
+		this.count = count;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Integer getCount() {
+		return count;
+	}
+}
@@ -0,0 +1,35 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+
+public class ChangeNotificationDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private String type;
+	private Long id;
+	private T entity;
+
+	public ChangeNotificationDTO() {
+	}
+
+	public ChangeNotificationDTO(String type, Long id, T entity) {
+		this.type = type;
+		this.id = id;
+		this.entity = entity;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * State after the change, or {@code null} when the entity was deleted.
+	 */
+	public T getEntity() {
+		return entity;
+	}
+}
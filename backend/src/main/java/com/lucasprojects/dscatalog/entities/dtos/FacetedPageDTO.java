@@ -0,0 +1,27 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class FacetedPageDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private PageDTO<T> page;
+	private List<CategoryFacetDTO> facets;
+
+	public FacetedPageDTO() {
+	}
+
+	public FacetedPageDTO(PageDTO<T> page, List<CategoryFacetDTO> facets) {
+		this.page = page;
+		this.facets = facets;
+	}
+
+	public PageDTO<T> getPage() {
+		return page;
+	}
+
+	public List<CategoryFacetDTO> getFacets() {
+		return facets;
+	}
+}
@@ -0,0 +1,29 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+
+public class ImportErrorDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Long row;
+	private String message;
+
+	public ImportErrorDTO() {
+	}
+
+	public ImportErrorDTO(Long row, String message) {
+		this.row = row;
+		this.message = message;
+	}
+
+	/**
+	 * Position of the failed record in the input, starting at 1.
+	 */
+	public Long getRow() {
+		return row;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+}
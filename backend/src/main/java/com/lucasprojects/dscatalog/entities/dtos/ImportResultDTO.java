@@ -0,0 +1,37 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportResultDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private long inserted;
+	private long failed;
+
+	private List<ImportErrorDTO> errors = new ArrayList<>();
+
+	public long getInserted() {
+		return inserted;
+	}
+
+	public void setInserted(long inserted) {
+		this.inserted = inserted;
+	}
+
+	public long getFailed() {
+		return failed;
+	}
+
+	public void setFailed(long failed) {
+		this.failed = failed;
+	}
+
+	/**
+	 * The first failures; later ones only count in {@link #getFailed()}.
+	 */
+	public List<ImportErrorDTO> getErrors() {
+		return errors;
+	}
+}
@@ -0,0 +1,68 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Page envelope of listing responses. {@code totalElements} is only known
+ * for counted pages and {@code page} is absent for cursor pages; absent
+ * values are left out of the response.
+ */
+public class PageDTO<T> implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<T> content;
+	private Integer page;
+	private Integer size;
+	private Long totalElements;
+	private boolean hasNext;
+	private String nextCursor;
+
+	public PageDTO() {
+	}
+
+	public PageDTO(Slice<T> slice) {
+		this(slice.getContent(), slice.getNumber(), slice.getSize(),
+				(slice instanceof Page<T> page) ? page.getTotalElements() : null, slice.hasNext(), null);
+	}
+
+	public PageDTO(List<T> content, Integer size, String nextCursor) {
+		this(content, null, size, null, nextCursor != null, nextCursor);
+	}
+
+	public PageDTO(List<T> content, Integer page, Integer size, Long totalElements, boolean hasNext, String nextCursor) {
+		this.content = content;
+		this.page = page;
+		this.size = size;
+		this.totalElements = totalElements;
+		this.hasNext = hasNext;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<T> getContent() {
+		return content;
+	}
+
+	public Integer getPage() {
+		return page;
+	}
+
+	public Integer getSize() {
+		return size;
+	}
+
+	public Long getTotalElements() {
+		return totalElements;
+	}
+
+	public boolean isHasNext() {
+		return hasNext;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
@@ -0,0 +1,27 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class ProductBatchDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<ProductDTO> content;
+	private List<Long> missingIds;
+
+	public ProductBatchDTO() {
+	}
+
+	public ProductBatchDTO(List<ProductDTO> content, List<Long> missingIds) {
+		this.content = content;
+		this.missingIds = missingIds;
+	}
+
+	public List<ProductDTO> getContent() {
+		return content;
+	}
+
+	public List<Long> getMissingIds() {
+		return missingIds;
+	}
+}
@@ -0,0 +1,44 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBulkUpdateDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private Double priceMultiplier;
+
+	private List<Long> addCategoryIds = new ArrayList<>();
+	private List<Long> removeCategoryIds = new ArrayList<>();
+
+	public ProductBulkUpdateDTO() {
+	}
+
+	/**
+	 * Factor every price is multiplied by, or {@code null} to keep prices.
+	 */
+	public Double getPriceMultiplier() {
+		return priceMultiplier;
+	}
+
+	public void setPriceMultiplier(Double priceMultiplier) {
+		this.priceMultiplier = priceMultiplier;
+	}
+
+	public List<Long> getAddCategoryIds() {
+		return addCategoryIds;
+	}
+
+	public void setAddCategoryIds(List<Long> addCategoryIds) {
+		this.addCategoryIds = addCategoryIds;
+	}
+
+	public List<Long> getRemoveCategoryIds() {
+		return removeCategoryIds;
+	}
+
+	public void setRemoveCategoryIds(List<Long> removeCategoryIds) {
+		this.removeCategoryIds = removeCategoryIds;
+	}
+}
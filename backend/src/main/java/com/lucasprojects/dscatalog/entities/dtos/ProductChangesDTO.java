@@ -0,0 +1,49 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.List;
+
+public class ProductChangesDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private List<ProductDTO> changed;
+	private List<Long> deletedIds;
+	private Instant syncedAt;
+	private boolean hasMore;
+	private String nextCursor;
+
+	public ProductChangesDTO() {
+	}
+
+	public ProductChangesDTO(List<ProductDTO> changed, List<Long> deletedIds, Instant syncedAt, String nextCursor) {
+		this.changed = changed;
+		this.deletedIds = deletedIds;
+		this.syncedAt = syncedAt;
+		this.hasMore = nextCursor != null;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<ProductDTO> getChanged() {
+		return changed;
+	}
+
+	public List<Long> getDeletedIds() {
+		return deletedIds;
+	}
+
+	public Instant getSyncedAt() {
+		return syncedAt;
+	}
+
+	public boolean isHasMore() {
+		return hasMore;
+	}
+
+	/**
+	 * Token for the next page of the same sync, or {@code null} on the last one.
+	 */
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
@@ -6,9 +6,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.lucasprojects.dscatalog.entities.Category;
 import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.utils.FieldSelection;
 
+@JsonFilter(FieldSelection.FILTER)
 public class ProductDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
 
@@ -18,6 +22,9 @@ public class ProductDTO implements Serializable {
 	private Double price;
 	private String imgUrl;
 	private Instant date;
+
+	@JsonIgnore
+	private Instant updatedAt;
 	
 	private List<CategoryDTO> categories = new ArrayList<>();
 
@@ -40,6 +47,17 @@ public class ProductDTO implements Serializable {
 		this.price = product.getPrice();
 		this.imgUrl = product.getImgUrl();
 		this.date = product.getDate();
+		this.updatedAt = (product.getUpdatedAt() != null) ? product.getUpdatedAt() : product.getCreatedAt();
+	}
+
+	/**
+	 * Deep copy, so the copy is not affected by later changes to {@code other}
+	 * or its categories.
+	 */
+	public ProductDTO(ProductDTO other) {
+		this(other.id, other.name, other.description, other.price, other.imgUrl, other.date);
+		this.updatedAt = other.updatedAt;
+		other.categories.forEach(category -> this.categories.add(new CategoryDTO(category)));
 	}
 	
 	public ProductDTO(Product product, Set<Category> categories) {
@@ -95,6 +113,18 @@ public class ProductDTO implements Serializable {
 		this.date = date;
 	}
 
+	/**
+	 * When the product was last modified, or {@code null} when unknown, such
+	 * as for a product built from a request body.
+	 */
+	public Instant getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(Instant updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
 	public static long getSerialversionuid() {
 		return serialVersionUID;
 	}
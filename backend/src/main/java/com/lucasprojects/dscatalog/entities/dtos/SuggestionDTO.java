@@ -0,0 +1,36 @@
+package com.lucasprojects.dscatalog.entities.dtos;
+
+import java.io.Serializable;
+
+public class SuggestionDTO implements Serializable {
+	private static final long serialVersionUID = 1L;
+
+	public enum Type {
+		PRODUCT, CATEGORY
+	}
+
+	private Type type;
+	private Long id;
+	private String name;
+
+	public SuggestionDTO() {
+	}
+
+	public SuggestionDTO(Type type, Long id, String name) {
+		this.type = type;
+		this.id = id;
+		this.name = name;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getName() {
+		return name;
+	}
+}
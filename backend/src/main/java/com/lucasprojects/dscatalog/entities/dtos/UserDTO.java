@@ -7,8 +7,11 @@ import java.util.List;
 import javax.validation.constraints.Email;
 import javax.validation.constraints.NotBlank;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.lucasprojects.dscatalog.entities.User;
+import com.lucasprojects.dscatalog.utils.FieldSelection;
 
+@JsonFilter(FieldSelection.FILTER)
 public class UserDTO implements Serializable {
 	private static final long serialVersionUID = 1L;
 
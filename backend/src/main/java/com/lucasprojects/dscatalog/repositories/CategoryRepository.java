@@ -1,6 +1,9 @@
 package com.lucasprojects.dscatalog.repositories;
 
+import java.time.Instant;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.lucasprojects.dscatalog.entities.Category;
@@ -8,4 +11,6 @@ import com.lucasprojects.dscatalog.entities.Category;
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
 
+	@Query("SELECT COALESCE(obj.updatedAt, obj.createdAt) FROM Category obj WHERE obj.id = :id")
+	Instant findLastModified(Long id);
 }
@@ -0,0 +1,182 @@
+package com.lucasprojects.dscatalog.repositories;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+
+public class ProductFilter {
+
+	private Collection<Long> categoryIds = List.of();
+	private boolean matchAll;
+	private String name;
+	private Double minPrice;
+	private Double maxPrice;
+	private Collection<Long> ids;
+	private Set<String> fields;
+
+	public ProductFilter() {
+	}
+
+	public ProductFilter(Long categoryId, String name) {
+		if (categoryId != null && categoryId != 0) {
+			categoryIds = List.of(categoryId);
+		}
+		this.name = name;
+	}
+
+	public ProductFilter(ProductFilter other) {
+		categoryIds = other.categoryIds;
+		matchAll = other.matchAll;
+		name = other.name;
+		minPrice = other.minPrice;
+		maxPrice = other.maxPrice;
+		ids = other.ids;
+		fields = other.fields;
+	}
+
+	/**
+	 * Categories the product must belong to, or an empty collection for no
+	 * restriction beyond having some category.
+	 */
+	public Collection<Long> getCategoryIds() {
+		return categoryIds;
+	}
+
+	public void setCategoryIds(Collection<Long> categoryIds) {
+		this.categoryIds = List.copyOf(new LinkedHashSet<>(categoryIds));
+	}
+
+	public boolean hasCategories() {
+		return !categoryIds.isEmpty();
+	}
+
+	/**
+	 * Whether the product must belong to all the categories instead of any of them.
+	 */
+	public boolean isMatchAll() {
+		return matchAll;
+	}
+
+	public void setMatchAll(boolean matchAll) {
+		this.matchAll = matchAll;
+	}
+
+	/**
+	 * Substring the product name must contain, or {@code null} when the name
+	 * filter was already resolved into {@link #getIds()}.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public boolean hasName() {
+		return name != null && !name.isEmpty();
+	}
+
+	/**
+	 * Lowest accepted price, or {@code null} for no lower bound.
+	 */
+	public Double getMinPrice() {
+		return minPrice;
+	}
+
+	public void setMinPrice(Double minPrice) {
+		this.minPrice = minPrice;
+	}
+
+	/**
+	 * Highest accepted price, or {@code null} for no upper bound.
+	 */
+	public Double getMaxPrice() {
+		return maxPrice;
+	}
+
+	public void setMaxPrice(Double maxPrice) {
+		this.maxPrice = maxPrice;
+	}
+
+	public boolean hasPriceRange() {
+		return minPrice != null || maxPrice != null;
+	}
+
+	/**
+	 * Candidate product ids resolved in memory, or {@code null} for no restriction.
+	 */
+	public Collection<Long> getIds() {
+		return ids;
+	}
+
+	public void setIds(Collection<Long> ids) {
+		this.ids = ids;
+	}
+
+	/**
+	 * Product fields the listing returns, or {@code null} for all of them.
+	 */
+	public Set<String> getFields() {
+		return fields;
+	}
+
+	public void setFields(Set<String> fields) {
+		this.fields = fields;
+	}
+
+	public boolean includes(String field) {
+		return fields == null || fields.contains(field);
+	}
+
+	/**
+	 * Whether the listing for this filter includes {@code product}, evaluated
+	 * in memory with the same rules as the queries.
+	 */
+	public boolean matches(ProductDTO product) {
+		Set<Long> productCategoryIds = product.getCategories().stream().map(CategoryDTO::getId).collect(Collectors.toSet());
+		if (productCategoryIds.isEmpty()) {
+			return false;
+		}
+		if (hasCategories() && (matchAll ? !productCategoryIds.containsAll(categoryIds)
+				: categoryIds.stream().noneMatch(productCategoryIds::contains))) {
+			return false;
+		}
+		if (hasName() && (product.getName() == null
+				|| !product.getName().toLowerCase(Locale.ROOT).contains(name.toLowerCase(Locale.ROOT)))) {
+			return false;
+		}
+		if (hasPriceRange() && (product.getPrice() == null || (minPrice != null && product.getPrice() < minPrice)
+				|| (maxPrice != null && product.getPrice() > maxPrice))) {
+			return false;
+		}
+		return ids == null || ids.contains(product.getId());
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(categoryIds, matchAll, name, minPrice, maxPrice, ids, fields);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		ProductFilter other = (ProductFilter) obj;
+		return Objects.equals(categoryIds, other.categoryIds) && matchAll == other.matchAll
+				&& Objects.equals(name, other.name) && Objects.equals(minPrice, other.minPrice)
+				&& Objects.equals(maxPrice, other.maxPrice) && Objects.equals(ids, other.ids)
+				&& Objects.equals(fields, other.fields);
+	}
+}
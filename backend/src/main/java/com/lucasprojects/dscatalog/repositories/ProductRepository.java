@@ -1,24 +1,70 @@
 package com.lucasprojects.dscatalog.repositories;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import com.lucasprojects.dscatalog.entities.Category;
 import com.lucasprojects.dscatalog.entities.Product;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
-	
-	@Query("SELECT DISTINCT obj FROM Product obj JOIN obj.categories cats WHERE "
-			+ "(:categories IS NULL OR cats IN :categories) AND "
-			+ "(LOWER(obj.name) LIKE LOWER(CONCAT('%',:name,'%')))")
-	Page<Product> find(List<Category> categories, String name, Pageable pageable);
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
 	
 	@Query("SELECT obj FROM Product obj JOIN FETCH obj.categories WHERE obj IN :products")
 	List<Product> findProductsWithCategories(List<Product> products);
+
+	@Query("SELECT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id = :id")
+	Optional<Product> findWithCategories(Long id);
+
+	@Query("SELECT COALESCE(obj.updatedAt, obj.createdAt) FROM Product obj WHERE obj.id = :id")
+	Instant findLastModified(Long id);
+
+	// Seeks in the order of idx_product_modified_at_id
+	@Query(nativeQuery = true, value = "SELECT * FROM tb_product p "
+			+ "WHERE (COALESCE(p.updated_at, p.created_at), p.id) > (:at, :id) "
+			+ "ORDER BY COALESCE(p.updated_at, p.created_at), p.id LIMIT :limit")
+	List<Product> findChangedAfter(Instant at, Long id, int limit);
+
+	@Query("SELECT obj.id, obj.name FROM Product obj")
+	List<Object[]> findAllNames();
+
+	@Query("SELECT obj.id, obj.name, obj.description FROM Product obj")
+	List<Object[]> findAllTexts();
+
+	@Query("SELECT obj.id, obj.price FROM Product obj WHERE obj.price IS NOT NULL")
+	List<Object[]> findAllPrices();
+
+	@Query("SELECT obj.id, cats.id FROM Product obj JOIN obj.categories cats")
+	List<Object[]> findAllCategoryIds();
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "UPDATE tb_product SET price = price * :multiplier, updated_at = :now WHERE id IN (:ids)")
+	int multiplyPrices(Collection<Long> ids, double multiplier, Instant now);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "INSERT INTO tb_product_category (product_id, category_id) "
+			+ "SELECT p.id, :categoryId FROM tb_product p WHERE p.id IN (:ids) AND NOT EXISTS "
+			+ "(SELECT 1 FROM tb_product_category pc WHERE pc.product_id = p.id AND pc.category_id = :categoryId)")
+	int addCategory(Collection<Long> ids, Long categoryId);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "DELETE FROM tb_product_category WHERE category_id = :categoryId AND product_id IN (:ids)")
+	int removeCategory(Collection<Long> ids, Long categoryId);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "UPDATE tb_product SET updated_at = :now WHERE id IN (:ids)")
+	int touch(Collection<Long> ids, Instant now);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "DELETE FROM tb_product_category WHERE product_id IN (:ids)")
+	int deleteCategoriesByProductIds(Collection<Long> ids);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "DELETE FROM tb_product WHERE id IN (:ids)")
+	int deleteAllByIds(Collection<Long> ids);
 }
@@ -0,0 +1,20 @@
+package com.lucasprojects.dscatalog.repositories;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.utils.ProductCursor;
+
+public interface ProductRepositoryCustom {
+
+	Page<ProductDTO> findPage(ProductFilter filter, Pageable pageable);
+
+	Slice<ProductDTO> findSlice(ProductFilter filter, Pageable pageable);
+
+	List<Product> findAfter(ProductFilter filter, ProductCursor cursor, int limit);
+}
@@ -0,0 +1,240 @@
+package com.lucasprojects.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.DoubleType;
+import org.hibernate.type.InstantType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.StringType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.utils.ProductCursor;
+
+public class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+	private static final Map<String, String> SORT_COLUMNS = Map.of("id", "p.id", "name", "p.name", "price", "p.price",
+			"date", "p.date", "imgUrl", "p.img_url");
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Page<ProductDTO> findPage(ProductFilter filter, Pageable pageable) {
+		long[] total = new long[1];
+		List<ProductDTO> content = select(filter, pageable, pageable.isPaged() ? pageable.getPageSize() : -1, total);
+		if (content.isEmpty() && pageable.isPaged() && pageable.getOffset() > 0) {
+			total[0] = count(filter);
+		}
+		return new PageImpl<>(content, pageable, total[0]);
+	}
+
+	@Override
+	public Slice<ProductDTO> findSlice(ProductFilter filter, Pageable pageable) {
+		if (pageable.isUnpaged()) {
+			return findPage(filter, pageable);
+		}
+		List<ProductDTO> content = select(filter, pageable, pageable.getPageSize() + 1, null);
+		boolean hasNext = content.size() > pageable.getPageSize();
+		return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+	}
+
+	// Null sort keys come last in both directions. The keyed rows are seeked by (column, id) in the order of
+	// the matching index; the null tail is read by a second query seeked by id only.
+	@Override
+	public List<Product> findAfter(ProductFilter filter, ProductCursor cursor, int limit) {
+		String direction = (cursor.getDirection() == Direction.ASC) ? " ASC" : " DESC";
+		String comparator = (cursor.getDirection() == Direction.ASC) ? " > " : " < ";
+		if (cursor.getProperty().equals("id")) {
+			return cursor.isFirst() ? seek(filter, "", " ORDER BY p.id" + direction, Map.of(), limit)
+					: seek(filter, " AND p.id" + comparator + ":lastId", " ORDER BY p.id" + direction,
+							Map.of("lastId", cursor.getId()), limit);
+		}
+
+		String column = SORT_COLUMNS.get(cursor.getProperty());
+		boolean inTail = !cursor.isFirst() && cursor.getValue() == null;
+		List<Product> result = new ArrayList<>();
+		if (!inTail) {
+			String orderBy = " ORDER BY " + column + direction + ", p.id" + direction;
+			result.addAll(cursor.isFirst() ? seek(filter, " AND " + column + " IS NOT NULL", orderBy, Map.of(), limit)
+					: seek(filter, " AND (" + column + ", p.id)" + comparator + "(:lastValue, :lastId)", orderBy,
+							Map.of("lastValue", cursor.getValue(), "lastId", cursor.getId()), limit));
+		}
+		if (result.size() < limit) {
+			String orderBy = " ORDER BY p.id" + direction;
+			result.addAll(inTail ? seek(filter, " AND " + column + " IS NULL AND p.id" + comparator + ":lastId", orderBy,
+					Map.of("lastId", cursor.getId()), limit - result.size())
+					: seek(filter, " AND " + column + " IS NULL", orderBy, Map.of(), limit - result.size()));
+		}
+		return result;
+	}
+
+	private List<Product> seek(ProductFilter filter, String condition, String orderBy, Map<String, Object> parameters,
+			int limit) {
+		Query query = entityManager.createNativeQuery(
+				"SELECT p.* FROM tb_product p" + whereClause(filter) + condition + orderBy, Product.class);
+		bindFilter(query, filter);
+		parameters.forEach(query::setParameter);
+		@SuppressWarnings("unchecked")
+		List<Product> list = query.setMaxResults(limit).getResultList();
+		return list;
+	}
+
+	/**
+	 * Loads up to {@code limit} products (no limit when negative) with their
+	 * categories in one statement. When {@code total} is given, the number of
+	 * matching products is computed in the same statement and stored in it.
+	 * The description and categories are only read when the filter includes them.
+	 */
+	private List<ProductDTO> select(ProductFilter filter, Pageable pageable, int limit, long[] total) {
+		String orderBy = orderByClause(pageable.getSort());
+		boolean withCategories = filter.includes("categories");
+
+		// The page of ids comes from a subquery; the outer join adds the categories
+		String sql = "SELECT p.id, p.name, " + (filter.includes("description") ? "p.description" : "NULL AS description")
+				+ ", p.price, p.img_url, p.date, COALESCE(p.updated_at, p.created_at) AS updated_at, "
+				+ (withCategories ? "c.id AS category_id, c.name AS category_name, "
+						+ "COALESCE(c.updated_at, c.created_at) AS category_updated_at"
+						: "CAST(NULL AS BIGINT) AS category_id, NULL AS category_name, "
+								+ "CAST(NULL AS TIMESTAMP) AS category_updated_at")
+				+ ((total != null) ? ", pg.total " : " ")
+				+ "FROM (SELECT p.id" + ((total != null) ? ", COUNT(*) OVER () AS total" : "")
+				+ " FROM tb_product p" + whereClause(filter) + orderBy
+				+ ((limit >= 0) ? " LIMIT :limit OFFSET :offset" : "") + ") pg "
+				+ "JOIN tb_product p ON p.id = pg.id"
+				+ (withCategories ? " LEFT JOIN tb_product_category pc ON pc.product_id = p.id "
+						+ "LEFT JOIN tb_category c ON c.id = pc.category_id" + orderBy + ", c.id" : orderBy);
+
+		NativeQuery<?> query = entityManager.createNativeQuery(sql).unwrap(NativeQuery.class)
+				.addScalar("id", LongType.INSTANCE)
+				.addScalar("name", StringType.INSTANCE)
+				.addScalar("description", StringType.INSTANCE)
+				.addScalar("price", DoubleType.INSTANCE)
+				.addScalar("img_url", StringType.INSTANCE)
+				.addScalar("date", InstantType.INSTANCE)
+				.addScalar("updated_at", InstantType.INSTANCE)
+				.addScalar("category_id", LongType.INSTANCE)
+				.addScalar("category_name", StringType.INSTANCE)
+				.addScalar("category_updated_at", InstantType.INSTANCE);
+		if (total != null) {
+			query.addScalar("total", LongType.INSTANCE);
+		}
+		bindFilter(query, filter);
+		if (limit >= 0) {
+			query.setParameter("limit", limit);
+			query.setParameter("offset", pageable.getOffset());
+		}
+
+		Map<Long, ProductDTO> products = new LinkedHashMap<>();
+		for (Object result : query.getResultList()) {
+			Object[] row = (Object[]) result;
+			ProductDTO dto = products.computeIfAbsent((Long) row[0], id -> {
+				ProductDTO product = new ProductDTO(id, (String) row[1], (String) row[2], (Double) row[3], (String) row[4],
+						(Instant) row[5]);
+				product.setUpdatedAt((Instant) row[6]);
+				return product;
+			});
+			if (row[7] != null) {
+				CategoryDTO category = new CategoryDTO((Long) row[7], (String) row[8]);
+				category.setUpdatedAt((Instant) row[9]);
+				dto.getCategories().add(category);
+			}
+			if (total != null) {
+				total[0] = (Long) row[10];
+			}
+		}
+		return new ArrayList<>(products.values());
+	}
+
+	private long count(ProductFilter filter) {
+		Query query = entityManager.createNativeQuery("SELECT COUNT(*) FROM tb_product p" + whereClause(filter));
+		bindFilter(query, filter);
+		return ((Number) query.getSingleResult()).longValue();
+	}
+
+	// EXISTS keeps the old inner-join semantics (uncategorized products are not listed) without DISTINCT
+	private String whereClause(ProductFilter filter) {
+		StringBuilder where = new StringBuilder(" WHERE ");
+		if (!filter.hasCategories()) {
+			where.append("EXISTS (SELECT 1 FROM tb_product_category f WHERE f.product_id = p.id)");
+		} else if (filter.isMatchAll()) {
+			where.append("(SELECT COUNT(*) FROM tb_product_category f "
+					+ "WHERE f.product_id = p.id AND f.category_id IN (:categoryIds)) = :categoryCount");
+		} else {
+			where.append("EXISTS (SELECT 1 FROM tb_product_category f "
+					+ "WHERE f.product_id = p.id AND f.category_id IN (:categoryIds))");
+		}
+		if (filter.hasName()) {
+			where.append(" AND LOWER(p.name) LIKE :name");
+		}
+		if (filter.getMinPrice() != null) {
+			where.append(" AND p.price >= :minPrice");
+		}
+		if (filter.getMaxPrice() != null) {
+			where.append(" AND p.price <= :maxPrice");
+		}
+		if (filter.getIds() != null) {
+			where.append(" AND p.id IN (:ids)");
+		}
+		return where.toString();
+	}
+
+	private void bindFilter(Query query, ProductFilter filter) {
+		bindCategories(query, filter);
+		bindPrices(query, filter);
+		if (filter.hasName()) {
+			query.setParameter("name", "%" + filter.getName().toLowerCase(Locale.ROOT) + "%");
+		}
+		if (filter.getIds() != null) {
+			query.setParameter("ids", filter.getIds());
+		}
+	}
+
+	private void bindCategories(Query query, ProductFilter filter) {
+		if (filter.hasCategories()) {
+			query.setParameter("categoryIds", filter.getCategoryIds());
+			if (filter.isMatchAll()) {
+				query.setParameter("categoryCount", (long) filter.getCategoryIds().size());
+			}
+		}
+	}
+
+	private void bindPrices(Query query, ProductFilter filter) {
+		if (filter.getMinPrice() != null) {
+			query.setParameter("minPrice", filter.getMinPrice());
+		}
+		if (filter.getMaxPrice() != null) {
+			query.setParameter("maxPrice", filter.getMaxPrice());
+		}
+	}
+
+	private String orderByClause(Sort sort) {
+		StringBuilder orderBy = new StringBuilder(" ORDER BY ");
+		for (Sort.Order order : sort) {
+			String column = SORT_COLUMNS.get(order.getProperty());
+			if (column == null) {
+				throw new IllegalArgumentException("Unable to sort products by " + order.getProperty());
+			}
+			orderBy.append(column).append(order.isAscending() ? " ASC, " : " DESC, ");
+		}
+		return orderBy.append("p.id").toString();
+	}
+}
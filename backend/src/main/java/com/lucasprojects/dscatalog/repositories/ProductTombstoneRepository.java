@@ -0,0 +1,25 @@
+package com.lucasprojects.dscatalog.repositories;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.lucasprojects.dscatalog.entities.ProductTombstone;
+
+@Repository
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+
+	@Query(nativeQuery = true, value = "SELECT * FROM tb_product_tombstone t "
+			+ "WHERE (t.deleted_at, t.product_id) > (:at, :id) ORDER BY t.deleted_at, t.product_id LIMIT :limit")
+	List<ProductTombstone> findDeletedAfter(Instant at, Long id, int limit);
+
+	@Modifying(clearAutomatically = true)
+	@Query(nativeQuery = true, value = "INSERT INTO tb_product_tombstone (product_id, deleted_at) "
+			+ "SELECT p.id, :now FROM tb_product p WHERE p.id IN (:ids)")
+	int insertForProducts(Collection<Long> ids, Instant now);
+}
@@ -1,5 +1,7 @@
 package com.lucasprojects.dscatalog.repositories;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +11,6 @@ import com.lucasprojects.dscatalog.entities.User;
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	User findByEmail(String email);
+
+	Slice<User> findAllBy(Pageable pageable);
 }
@@ -13,10 +13,12 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
 import com.lucasprojects.dscatalog.services.CategoryService;
+import com.lucasprojects.dscatalog.utils.ETags;
 
 @RestController
 @RequestMapping("/categories")
@@ -26,14 +28,20 @@ public class CategoryResource {
 	private CategoryService service;
 	
 	@GetMapping
-	public ResponseEntity<List<CategoryDTO>> findAll() {
+	public ResponseEntity<List<CategoryDTO>> findAll(WebRequest request) {
+		if (ETags.checkNotModified(request, service.listingETag())) {
+			return null;
+		}
 		List<CategoryDTO> list = service.findAll();
 
 		return ResponseEntity.ok().body(list);
 	}
 	
 	@GetMapping("/{id}")
-	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<CategoryDTO> findById(@PathVariable Long id, WebRequest request) {
+		if (ETags.checkNotModified(request, service.findETag(id))) {
+			return null;
+		}
 		CategoryDTO dto = service.findById(id);
 
 		return ResponseEntity.ok().body(dto);
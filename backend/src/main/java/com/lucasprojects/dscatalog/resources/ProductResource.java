@@ -1,47 +1,214 @@
 package com.lucasprojects.dscatalog.resources;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.lucasprojects.dscatalog.entities.dtos.BulkResultDTO;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryFacetDTO;
+import com.lucasprojects.dscatalog.entities.dtos.FacetedPageDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ImportResultDTO;
+import com.lucasprojects.dscatalog.entities.dtos.PageDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductBatchDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductBulkUpdateDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductChangesDTO;
 import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.entities.dtos.SuggestionDTO;
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
+import com.lucasprojects.dscatalog.services.ProductExportService;
+import com.lucasprojects.dscatalog.services.ProductExportService.Format;
+import com.lucasprojects.dscatalog.services.ProductImportService;
 import com.lucasprojects.dscatalog.services.ProductService;
+import com.lucasprojects.dscatalog.services.stream.ChangeFeed;
+import com.lucasprojects.dscatalog.utils.ETags;
+import com.lucasprojects.dscatalog.utils.FieldSelection;
 
 @RestController
 @RequestMapping("/products")
 public class ProductResource {
 
+	private static final int MAX_PAGE_SIZE = 2000;
+	private static final int MAX_SUGGESTIONS = 50;
+	private static final int MAX_BATCH_IDS = 500;
+
+	// Keeps the category fetch of a page well under the bind parameter limit
+	private static final int MAX_CHANGES_PAGE_SIZE = 1000;
+	private static final Set<String> PRODUCT_FIELDS = Set.of("id", "name", "description", "price", "imgUrl", "date",
+			"categories");
+
 	@Autowired
 	private ProductService service;
 
+	@Autowired
+	private ProductExportService exportService;
+
+	@Autowired
+	private ProductImportService importService;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
 	@GetMapping
-	public ResponseEntity<Page<ProductDTO>> findAllPaged(
+	public ResponseEntity<MappingJacksonValue> findAllPaged(
+			@RequestParam(value = "categoryId", defaultValue = "0") Long categoryId,
+			@RequestParam(value = "categoryIds", defaultValue = "") List<Long> categoryIds,
+			@RequestParam(value = "match", defaultValue = "any") String match,
+			@RequestParam(value = "name", defaultValue = "") String name,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+			@RequestParam(value = "fuzzy", defaultValue = "false") Boolean fuzzy,
+			@RequestParam(value = "facets", defaultValue = "false") Boolean facets,
+			@RequestParam(value = "fields", defaultValue = "") String fields, Pageable pageable, WebRequest request) {
+
+		if (ETags.checkNotModified(request, service.listingETag())) {
+			return null;
+		}
+		ProductFilter filter = filter(categoryId, categoryIds, match, name, minPrice, maxPrice);
+		filter.setFields(FieldSelection.parse(fields, PRODUCT_FIELDS));
+		PageDTO<ProductDTO> pageList = new PageDTO<>(page(filter, withTotal, fuzzy, pageable));
+		if (facets) {
+			List<CategoryFacetDTO> categoryFacets = service.findCategoryFacets(filter);
+			return ResponseEntity.ok().body(FieldSelection.apply(new FacetedPageDTO<>(pageList, categoryFacets), filter.getFields()));
+		}
+
+		return ResponseEntity.ok().body(FieldSelection.apply(pageList, filter.getFields()));
+	}
+
+	@GetMapping(params = { "after", "!ids" })
+	public ResponseEntity<MappingJacksonValue> findAllAfter(
 			@RequestParam(value = "categoryId", defaultValue = "0") Long categoryId,
-			@RequestParam(value = "name", defaultValue = "") String name, Pageable pageable) {
+			@RequestParam(value = "categoryIds", defaultValue = "") List<Long> categoryIds,
+			@RequestParam(value = "match", defaultValue = "any") String match,
+			@RequestParam(value = "name", defaultValue = "") String name,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(value = "after") String after,
+			@RequestParam(value = "size", defaultValue = "20") Integer size,
+			@RequestParam(value = "fields", defaultValue = "") String fields, Sort sort) {
 
-		Page<ProductDTO> pageList = service.findAll(categoryId, name.trim(), pageable);
+		int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+		ProductFilter filter = filter(categoryId, categoryIds, match, name, minPrice, maxPrice);
+		filter.setFields(FieldSelection.parse(fields, PRODUCT_FIELDS));
+		PageDTO<ProductDTO> cursorPage = service.findAllAfter(filter, after.trim(), sort, pageSize);
 
-		return ResponseEntity.ok().body(pageList);
+		return ResponseEntity.ok().body(FieldSelection.apply(cursorPage, filter.getFields()));
+	}
+
+	@GetMapping(params = "ids")
+	public ResponseEntity<MappingJacksonValue> findAllById(@RequestParam(value = "ids") List<Long> ids,
+			@RequestParam(value = "fields", defaultValue = "") String fields, WebRequest request) {
+		if (ids.size() > MAX_BATCH_IDS) {
+			throw new IllegalArgumentException("At most " + MAX_BATCH_IDS + " ids can be fetched at once");
+		}
+		Set<String> fieldSet = FieldSelection.parse(fields, PRODUCT_FIELDS);
+		if (ETags.checkNotModified(request, service.listingETag())) {
+			return null;
+		}
+		ProductBatchDTO batch = service.findAllById(ids);
+
+		return ResponseEntity.ok().body(FieldSelection.apply(batch, fieldSet));
+	}
+
+	@GetMapping("/search")
+	public ResponseEntity<MappingJacksonValue> search(@RequestParam(value = "q", defaultValue = "") String q,
+			@RequestParam(value = "categoryId", defaultValue = "0") Long categoryId,
+			@RequestParam(value = "categoryIds", defaultValue = "") List<Long> categoryIds,
+			@RequestParam(value = "match", defaultValue = "any") String match,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestParam(value = "fields", defaultValue = "") String fields, Pageable pageable) {
+
+		ProductFilter filter = filter(categoryId, categoryIds, match, "", minPrice, maxPrice);
+		filter.setFields(FieldSelection.parse(fields, PRODUCT_FIELDS));
+		PageDTO<ProductDTO> pageList = new PageDTO<>(service.searchFullText(filter, q.trim(), pageable));
+
+		return ResponseEntity.ok().body(FieldSelection.apply(pageList, filter.getFields()));
+	}
+
+	@GetMapping("/export")
+	public ResponseEntity<StreamingResponseBody> export(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+		Format exportFormat;
+		try {
+			exportFormat = Format.valueOf(format.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("format must be 'ndjson' or 'csv'");
+		}
+		MediaType mediaType = (exportFormat == Format.CSV) ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+				: new MediaType("application", "x-ndjson");
+		String filename = "products." + exportFormat.name().toLowerCase(Locale.ROOT);
+
+		return ResponseEntity.ok().contentType(mediaType)
+				.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+				.body(out -> exportService.export(exportFormat, out));
+	}
+
+	@GetMapping("/suggest")
+	public ResponseEntity<List<SuggestionDTO>> suggest(@RequestParam(value = "prefix", defaultValue = "") String prefix,
+			@RequestParam(value = "limit", defaultValue = "10") Integer limit) {
+		List<SuggestionDTO> list = service.suggest(prefix.trim(), Math.min(Math.max(limit, 1), MAX_SUGGESTIONS));
+
+		return ResponseEntity.ok().body(list);
+	}
+
+	@GetMapping("/changes")
+	public ResponseEntity<ProductChangesDTO> findChanges(@RequestParam(value = "since", required = false) Instant since,
+			@RequestParam(value = "after", defaultValue = "") String after,
+			@RequestParam(value = "limit", defaultValue = "500") Integer limit) {
+		int pageSize = Math.min(Math.max(limit, 1), MAX_CHANGES_PAGE_SIZE);
+		ProductChangesDTO changes = service.findChangesSince(since, after.trim(), pageSize);
+
+		return ResponseEntity.ok().body(changes);
+	}
+
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> stream() {
+		SseEmitter emitter = changeFeed.subscribe();
+
+		return ResponseEntity.ok().body(emitter);
 	}
 
 	@GetMapping("/{id}")
-	public ResponseEntity<ProductDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<MappingJacksonValue> findById(@PathVariable Long id,
+			@RequestParam(value = "fields", defaultValue = "") String fields, WebRequest request) {
+		Set<String> fieldSet = FieldSelection.parse(fields, PRODUCT_FIELDS);
+		if (ETags.checkNotModified(request, service.findETag(id))) {
+			return null;
+		}
 		ProductDTO dto = service.findById(id);
 
-		return ResponseEntity.ok().body(dto);
+		return ResponseEntity.ok().body(FieldSelection.apply(dto, fieldSet));
 	}
 
 	@PostMapping
@@ -52,6 +219,40 @@ public class ProductResource {
 		return ResponseEntity.created(uri).body(dto);
 	}
 
+	@PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+	public ResponseEntity<ImportResultDTO> insertAll(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			InputStream body) throws IOException {
+		ProductImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+				? ProductImportService.Format.JSON
+				: ProductImportService.Format.CSV;
+		ImportResultDTO result = importService.importProducts(format, body);
+
+		return ResponseEntity.ok().body(result);
+	}
+
+	@PatchMapping("/bulk")
+	public ResponseEntity<BulkResultDTO> updateAll(
+			@RequestParam(value = "categoryId", defaultValue = "0") Long categoryId,
+			@RequestParam(value = "categoryIds", defaultValue = "") List<Long> categoryIds,
+			@RequestParam(value = "match", defaultValue = "any") String match,
+			@RequestParam(value = "name", defaultValue = "") String name,
+			@RequestParam(value = "minPrice", required = false) Double minPrice,
+			@RequestParam(value = "maxPrice", required = false) Double maxPrice,
+			@RequestBody ProductBulkUpdateDTO dto) {
+
+		ProductFilter filter = filter(categoryId, categoryIds, match, name, minPrice, maxPrice);
+		BulkResultDTO result = service.updateAll(filter, dto);
+
+		return ResponseEntity.ok().body(result);
+	}
+
+	@DeleteMapping("/bulk")
+	public ResponseEntity<BulkResultDTO> deleteAll(@RequestParam(value = "ids") List<Long> ids) {
+		BulkResultDTO result = service.deleteAll(ids);
+
+		return ResponseEntity.ok().body(result);
+	}
+
 	@PutMapping("/{id}")
 	public ResponseEntity<ProductDTO> update(@PathVariable Long id, @RequestBody ProductDTO dto) {
 		dto = service.update(id, dto);
@@ -65,4 +266,31 @@ public class ProductResource {
 
 		return ResponseEntity.noContent().build();
 	}
+
+	private Slice<ProductDTO> page(ProductFilter filter, Boolean withTotal, Boolean fuzzy, Pageable pageable) {
+		if (fuzzy) {
+			return service.findFuzzy(filter, pageable);
+		}
+		return withTotal ? service.findAll(filter, pageable) : service.findSlice(filter, pageable);
+	}
+
+	private ProductFilter filter(Long categoryId, List<Long> categoryIds, String match, String name, Double minPrice,
+			Double maxPrice) {
+		if (!match.equals("any") && !match.equals("all")) {
+			throw new IllegalArgumentException("match must be 'any' or 'all'");
+		}
+		if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+			throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+		}
+		ProductFilter filter = new ProductFilter(categoryId, name.trim());
+		if (!categoryIds.isEmpty()) {
+			List<Long> ids = new ArrayList<>(filter.getCategoryIds());
+			ids.addAll(categoryIds);
+			filter.setCategoryIds(ids);
+		}
+		filter.setMatchAll(match.equals("all"));
+		filter.setMinPrice(minPrice);
+		filter.setMaxPrice(maxPrice);
+		return filter;
+	}
 }
@@ -1,13 +1,15 @@
 package com.lucasprojects.dscatalog.resources;
 
 import java.net.URI;
+import java.util.Set;
 
 import javax.validation.Valid;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,34 +17,46 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.lucasprojects.dscatalog.entities.dtos.PageDTO;
 import com.lucasprojects.dscatalog.entities.dtos.UserDTO;
 import com.lucasprojects.dscatalog.entities.dtos.UserInsertDTO;
 import com.lucasprojects.dscatalog.entities.dtos.UserUpdateDTO;
 import com.lucasprojects.dscatalog.services.UserService;
+import com.lucasprojects.dscatalog.utils.FieldSelection;
 
 @RestController
 @RequestMapping("/users")
 public class UserResource {
 
+	private static final Set<String> USER_FIELDS = Set.of("id", "firstName", "lastName", "email", "roles");
+
 	@Autowired
 	private UserService service;
 
 	@GetMapping
-	public ResponseEntity<Page<UserDTO>> findAllPaged(Pageable pageable) {
+	public ResponseEntity<MappingJacksonValue> findAllPaged(
+			@RequestParam(value = "withTotal", defaultValue = "true") Boolean withTotal,
+			@RequestParam(value = "fields", defaultValue = "") String fields, Pageable pageable) {
 
-		Page<UserDTO> pageList = service.findAllPaged(pageable);
+		Set<String> fieldSet = FieldSelection.parse(fields, USER_FIELDS);
+		boolean withRoles = fieldSet == null || fieldSet.contains("roles");
+		Slice<UserDTO> slice = withTotal ? service.findAllPaged(pageable, withRoles) : service.findSlice(pageable, withRoles);
+		PageDTO<UserDTO> pageList = new PageDTO<>(slice);
 
-		return ResponseEntity.ok().body(pageList);
+		return ResponseEntity.ok().body(FieldSelection.apply(pageList, fieldSet));
 	}	
 
 	@GetMapping("/{id}")
-	public ResponseEntity<UserDTO> findById(@PathVariable Long id) {
+	public ResponseEntity<MappingJacksonValue> findById(@PathVariable Long id,
+			@RequestParam(value = "fields", defaultValue = "") String fields) {
+		Set<String> fieldSet = FieldSelection.parse(fields, USER_FIELDS);
 		UserDTO dto = service.findById(id);
 
-		return ResponseEntity.ok().body(dto);
+		return ResponseEntity.ok().body(FieldSelection.apply(dto, fieldSet));
 	}
 
 	@PostMapping
@@ -7,12 +7,15 @@ import javax.servlet.http.HttpServletRequest;
 
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
+import com.lucasprojects.dscatalog.services.stream.TooManySubscribersException;
+
 @ControllerAdvice
 public class ResourceExceptionHandler {
 	
@@ -36,6 +39,28 @@ public class ResourceExceptionHandler {
 		return ResponseEntity.status(status).body(new StandardError(timestamp, status, error, path));
 	}
 	
+	@ExceptionHandler(IllegalArgumentException.class)
+	public ResponseEntity<StandardError> illegalArgumentException(IllegalArgumentException err, HttpServletRequest request) {
+		Instant timestamp = Instant.now();
+		Integer status = HttpStatus.BAD_REQUEST.value();
+		String error = err.getMessage();
+		String path = request.getRequestURI();
+		
+		return ResponseEntity.status(status).body(new StandardError(timestamp, status, error, path));
+	}
+	
+	@ExceptionHandler(TooManySubscribersException.class)
+	public ResponseEntity<StandardError> tooManySubscribersException(TooManySubscribersException err, HttpServletRequest request) {
+		Instant timestamp = Instant.now();
+		Integer status = HttpStatus.SERVICE_UNAVAILABLE.value();
+		String error = err.getMessage();
+		String path = request.getRequestURI();
+		
+		// Set explicitly, since the stream clients only accept text/event-stream
+		return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+				.body(new StandardError(timestamp, status, error, path));
+	}
+	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
 	public ResponseEntity<ValidationError> methodArgumentNotValidException(MethodArgumentNotValidException err, HttpServletRequest request) {
 		Instant timestamp = Instant.now();
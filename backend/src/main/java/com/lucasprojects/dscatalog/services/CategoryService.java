@@ -1,5 +1,7 @@
 package com.lucasprojects.dscatalog.services;
 
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -7,6 +9,7 @@ import java.util.stream.Collectors;
 import javax.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Sort;
@@ -16,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 import com.lucasprojects.dscatalog.entities.Category;
 import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
 import com.lucasprojects.dscatalog.repositories.CategoryRepository;
+import com.lucasprojects.dscatalog.services.cache.CatalogVersions;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
 
 @Service
 public class CategoryService {
@@ -23,6 +28,12 @@ public class CategoryService {
 	@Autowired
 	private CategoryRepository repository;
 
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	@Autowired
+	private CatalogVersions versions;
+
 	@Transactional(readOnly = true)
 	public List<CategoryDTO> findAll() {
 		List<Category> list = repository.findAll(Sort.by("name"));
@@ -38,12 +49,30 @@ public class CategoryService {
 		return new CategoryDTO(entity);
 	}
 
+	/**
+	 * Strong ETag of the category, or {@code null} when it does not exist.
+	 */
+	@Transactional(readOnly = true)
+	public String findETag(Long id) {
+		Instant lastModified = repository.findLastModified(id);
+		if (lastModified == null) {
+			return null;
+		}
+		return id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, lastModified);
+	}
+
+	public String listingETag() {
+		return "categories-" + versions.categories();
+	}
+
 	@Transactional
 	public CategoryDTO insert(CategoryDTO dto) {
 		Category entity = new Category(null, dto.getName());		
 		entity = repository.save(entity);
 		
-		return new CategoryDTO(entity);
+		CategoryDTO result = new CategoryDTO(entity);
+		publisher.publishEvent(CategoryChangeEvent.inserted(result));
+		return result;
 	}
 
 	@Transactional
@@ -52,7 +81,9 @@ public class CategoryService {
 			Category entity = repository.getReferenceById(id);
 			entity.setName(dto.getName());
 			entity = repository.save(entity);			
-			return new CategoryDTO(entity);
+			CategoryDTO result = new CategoryDTO(entity);
+			publisher.publishEvent(CategoryChangeEvent.updated(result));
+			return result;
 		} catch (EntityNotFoundException e) {
 			throw new EntityNotFoundException("Unable to find category with id " + id);
 		}
@@ -61,6 +92,7 @@ public class CategoryService {
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
+			publisher.publishEvent(CategoryChangeEvent.deleted(id));
 		} catch (EmptyResultDataAccessException e) {
 			throw new EntityNotFoundException("Unable to find category with id " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -0,0 +1,176 @@
+package com.lucasprojects.dscatalog.services;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.cache.ProductJsonCache;
+
+/**
+ * Writes every product with its categories to a stream. Rows are read through
+ * a forward-only cursor a fetch at a time and written as soon as a product is
+ * complete, so memory use does not grow with the catalog.
+ */
+@Service
+public class ProductExportService {
+
+	private static final int FETCH_SIZE = 500;
+
+	private static final String SQL = "SELECT p.id, p.name, p.description, p.price, p.img_url, p.date, "
+			+ "c.id AS category_id, c.name AS category_name FROM tb_product p "
+			+ "LEFT JOIN tb_product_category pc ON pc.product_id = p.id "
+			+ "LEFT JOIN tb_category c ON c.id = pc.category_id ORDER BY p.id, c.id";
+
+	public enum Format {
+		NDJSON, CSV
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	// The transaction keeps the connection out of autocommit, which PostgreSQL needs to honor the fetch size
+	@Transactional(readOnly = true)
+	public void export(Format format, OutputStream output) throws IOException {
+		OutputStream out = new BufferedOutputStream(output);
+		ProductWriter writer = (format == Format.CSV) ? new CsvWriter(out) : new NdjsonWriter(out);
+		writer.header();
+
+		ProductRowHandler handler = new ProductRowHandler(writer);
+		try {
+			jdbcTemplate.query(connection -> {
+				PreparedStatement statement = connection.prepareStatement(SQL, ResultSet.TYPE_FORWARD_ONLY,
+						ResultSet.CONCUR_READ_ONLY);
+				statement.setFetchSize(FETCH_SIZE);
+				return statement;
+			}, handler);
+			handler.finish();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		out.flush();
+	}
+
+	// Rows come ordered by product, so a product is complete when the next id shows up
+	private static class ProductRowHandler implements RowCallbackHandler {
+
+		private final ProductWriter writer;
+		private ProductDTO current;
+
+		private ProductRowHandler(ProductWriter writer) {
+			this.writer = writer;
+		}
+
+		@Override
+		public void processRow(ResultSet rs) throws SQLException {
+			long id = rs.getLong("id");
+			if (current == null || current.getId() != id) {
+				finish();
+				double price = rs.getDouble("price");
+				Double boxedPrice = rs.wasNull() ? null : price;
+				Timestamp date = rs.getTimestamp("date");
+				current = new ProductDTO(id, rs.getString("name"), rs.getString("description"), boxedPrice,
+						rs.getString("img_url"), (date == null) ? null : date.toInstant());
+			}
+			long categoryId = rs.getLong("category_id");
+			if (!rs.wasNull()) {
+				current.getCategories().add(new CategoryDTO(categoryId, rs.getString("category_name")));
+			}
+		}
+
+		private void finish() {
+			if (current != null) {
+				try {
+					writer.write(current);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		}
+	}
+
+	private interface ProductWriter {
+		void header() throws IOException;
+
+		void write(ProductDTO product) throws IOException;
+	}
+
+	private class NdjsonWriter implements ProductWriter {
+
+		private final OutputStream out;
+		// Every product is written once, so caching them would only evict the entries responses reuse
+		private final ObjectWriter writer = mapper.writerFor(ProductDTO.class).withAttribute(ProductJsonCache.BYPASS, true);
+
+		private NdjsonWriter(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void header() {
+		}
+
+		@Override
+		public void write(ProductDTO product) throws IOException {
+			out.write(writer.writeValueAsBytes(product));
+			out.write('\n');
+		}
+	}
+
+	private static class CsvWriter implements ProductWriter {
+
+		private final OutputStream out;
+
+		private CsvWriter(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void header() throws IOException {
+			line("id,name,description,price,imgUrl,date,categoryIds,categories");
+		}
+
+		@Override
+		public void write(ProductDTO product) throws IOException {
+			line(String.join(",", String.valueOf(product.getId()), escape(product.getName()),
+					escape(product.getDescription()), (product.getPrice() == null) ? "" : product.getPrice().toString(),
+					escape(product.getImgUrl()), (product.getDate() == null) ? "" : product.getDate().toString(),
+					product.getCategories().stream().map(category -> category.getId().toString()).collect(Collectors.joining(";")),
+					escape(product.getCategories().stream().map(CategoryDTO::getName).collect(Collectors.joining(";")))));
+		}
+
+		private void line(String text) throws IOException {
+			out.write(text.getBytes(StandardCharsets.UTF_8));
+			out.write('\r');
+			out.write('\n');
+		}
+
+		private static String escape(String value) {
+			if (value == null) {
+				return "";
+			}
+			if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+				return "\"" + value.replace("\"", "\"\"") + "\"";
+			}
+			return value;
+		}
+	}
+}
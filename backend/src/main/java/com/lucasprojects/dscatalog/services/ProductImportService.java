@@ -0,0 +1,318 @@
+package com.lucasprojects.dscatalog.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lucasprojects.dscatalog.entities.Category;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ImportErrorDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ImportResultDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.repositories.CategoryRepository;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+
+/**
+ * Loads products from a JSON array or CSV stream with plain JDBC batches, one
+ * transaction per chunk. Invalid records are reported and skipped; when a
+ * chunk fails in the database its rows are retried one at a time so only the
+ * offending ones are lost.
+ */
+@Service
+public class ProductImportService {
+
+	private static final int CHUNK_SIZE = 1000;
+	private static final int MAX_REPORTED_ERRORS = 1000;
+
+	private static final String INSERT_PRODUCT = "INSERT INTO tb_product "
+			+ "(name, description, price, img_url, date, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+	private static final String INSERT_CATEGORY = "INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)";
+
+	public enum Format {
+		JSON, CSV
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private ObjectMapper mapper;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	public ImportResultDTO importProducts(Format format, InputStream input) throws IOException {
+		Set<Long> categoryIds = categoryRepository.findAll().stream().map(Category::getId).collect(Collectors.toSet());
+		ImportResultDTO result = new ImportResultDTO();
+		List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+
+		Consumer<Row> collector = row -> {
+			String error = (row.error != null) ? row.error : validate(row.product, categoryIds);
+			if (error != null) {
+				fail(result, row.number, error);
+				return;
+			}
+			chunk.add(row);
+			if (chunk.size() == CHUNK_SIZE) {
+				insertChunk(chunk, result);
+				chunk.clear();
+			}
+		};
+		try {
+			if (format == Format.CSV) {
+				readCsv(input, collector);
+			} else {
+				readJson(input, collector);
+			}
+		} finally {
+			insertChunk(chunk, result);
+		}
+		return result;
+	}
+
+	// Each committed chunk is published right away, so indexes and caches catch up during long imports
+	private void insertChunk(List<Row> chunk, ImportResultDTO result) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<ProductDTO> inserted = new ArrayList<>(chunk.size());
+		try {
+			transaction.executeWithoutResult(status -> insert(chunk));
+			chunk.forEach(row -> inserted.add(row.product));
+		} catch (DataAccessException e) {
+			for (Row row : chunk) {
+				try {
+					transaction.executeWithoutResult(status -> insert(List.of(row)));
+					inserted.add(row.product);
+				} catch (DataAccessException rowException) {
+					fail(result, row.number, rowException.getMostSpecificCause().getMessage());
+				}
+			}
+		}
+		result.setInserted(result.getInserted() + inserted.size());
+		if (!inserted.isEmpty()) {
+			publisher.publishEvent(new ProductBulkChangeEvent(inserted));
+		}
+	}
+
+	private void insert(List<Row> rows) {
+		Timestamp now = Timestamp.from(Instant.now());
+		List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+			try (PreparedStatement statement = connection.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS)) {
+				for (Row row : rows) {
+					ProductDTO product = row.product;
+					statement.setString(1, product.getName());
+					statement.setString(2, product.getDescription());
+					statement.setObject(3, product.getPrice());
+					statement.setString(4, product.getImgUrl());
+					statement.setTimestamp(5, (product.getDate() == null) ? null : Timestamp.from(product.getDate()));
+					statement.setTimestamp(6, now);
+					statement.addBatch();
+				}
+				statement.executeBatch();
+				List<Long> keys = new ArrayList<>(rows.size());
+				try (ResultSet generated = statement.getGeneratedKeys()) {
+					while (generated.next()) {
+						keys.add(generated.getLong(1));
+					}
+				}
+				return keys;
+			}
+		});
+
+		List<Object[]> categories = new ArrayList<>();
+		for (int i = 0; i < rows.size(); i++) {
+			Long productId = ids.get(i);
+			rows.get(i).product.setId(productId);
+			rows.get(i).product.getCategories().stream().map(CategoryDTO::getId).distinct()
+					.forEach(categoryId -> categories.add(new Object[] { productId, categoryId }));
+		}
+		if (!categories.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_CATEGORY, categories);
+		}
+	}
+
+	private void readJson(InputStream input, Consumer<Row> rows) throws IOException {
+		long number = 0;
+		try (JsonParser parser = mapper.getFactory().createParser(input)) {
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IllegalArgumentException("Expected a JSON array of products");
+			}
+			while (parser.nextToken() != JsonToken.END_ARRAY) {
+				number++;
+				JsonNode node;
+				try {
+					node = mapper.readTree(parser);
+				} catch (JsonProcessingException e) {
+					// The rest of the stream can't be parsed either
+					rows.accept(new Row(number, null, "Malformed JSON: " + e.getOriginalMessage()));
+					return;
+				}
+				try {
+					rows.accept(new Row(number, mapper.treeToValue(node, ProductDTO.class), null));
+				} catch (JsonProcessingException e) {
+					rows.accept(new Row(number, null, e.getOriginalMessage()));
+				}
+			}
+		}
+	}
+
+	// Same columns as the CSV export: name, description, price, imgUrl, date and categoryIds are read, others ignored
+	private void readCsv(InputStream input, Consumer<Row> rows) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		List<String> header = readRecord(reader);
+		if (header == null) {
+			return;
+		}
+		Map<String, Integer> columns = new HashMap<>();
+		for (int i = 0; i < header.size(); i++) {
+			columns.put(header.get(i).trim(), i);
+		}
+		if (!columns.containsKey("name")) {
+			throw new IllegalArgumentException("CSV header must have a name column");
+		}
+		long number = 0;
+		List<String> record;
+		while ((record = readRecord(reader)) != null) {
+			number++;
+			try {
+				rows.accept(new Row(number, toProduct(record, columns), null));
+			} catch (RuntimeException e) {
+				rows.accept(new Row(number, null, "Invalid value: " + e.getMessage()));
+			}
+		}
+	}
+
+	private static ProductDTO toProduct(List<String> record, Map<String, Integer> columns) {
+		ProductDTO product = new ProductDTO();
+		product.setName(value(record, columns, "name"));
+		product.setDescription(value(record, columns, "description"));
+		String price = value(record, columns, "price");
+		product.setPrice((price == null) ? null : Double.valueOf(price));
+		product.setImgUrl(value(record, columns, "imgUrl"));
+		String date = value(record, columns, "date");
+		product.setDate((date == null) ? null : Instant.parse(date));
+		String categoryIds = value(record, columns, "categoryIds");
+		if (categoryIds != null) {
+			for (String id : categoryIds.split(";")) {
+				product.getCategories().add(new CategoryDTO(Long.valueOf(id.trim()), null));
+			}
+		}
+		return product;
+	}
+
+	private static String value(List<String> record, Map<String, Integer> columns, String column) {
+		Integer index = columns.get(column);
+		if (index == null || index >= record.size() || record.get(index).isEmpty()) {
+			return null;
+		}
+		return record.get(index);
+	}
+
+	// One RFC 4180 record, which may span lines inside quotes; null at end of input
+	private static List<String> readRecord(BufferedReader reader) throws IOException {
+		int c = reader.read();
+		if (c == -1) {
+			return null;
+		}
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (c != -1) {
+			if (quoted) {
+				if (c == '"') {
+					reader.mark(1);
+					if (reader.read() == '"') {
+						field.append('"');
+					} else {
+						reader.reset();
+						quoted = false;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\n') {
+				break;
+			} else if (c != '\r') {
+				field.append((char) c);
+			}
+			c = reader.read();
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private static String validate(ProductDTO product, Set<Long> categoryIds) {
+		if (product.getName() == null || product.getName().isBlank()) {
+			return "Name is required";
+		}
+		if (product.getPrice() != null && product.getPrice() < 0) {
+			return "Price must not be negative";
+		}
+		for (CategoryDTO category : product.getCategories()) {
+			if (category.getId() == null || !categoryIds.contains(category.getId())) {
+				return "Unable to find category with id " + category.getId();
+			}
+		}
+		return null;
+	}
+
+	private static void fail(ImportResultDTO result, long row, String message) {
+		result.setFailed(result.getFailed() + 1);
+		if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+			result.getErrors().add(new ImportErrorDTO(row, message));
+		}
+	}
+
+	private static class Row {
+		private final long number;
+		private final ProductDTO product;
+		private final String error;
+
+		private Row(long number, ProductDTO product, String error) {
+			this.number = number;
+			this.product = product;
+			this.error = error;
+		}
+	}
+}
@@ -1,49 +1,348 @@
 package com.lucasprojects.dscatalog.services;
 
-import java.util.Arrays;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.lucasprojects.dscatalog.entities.Category;
 import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.ProductTombstone;
+import com.lucasprojects.dscatalog.entities.dtos.BulkResultDTO;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryFacetDTO;
+import com.lucasprojects.dscatalog.entities.dtos.PageDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductBatchDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductBulkUpdateDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductChangesDTO;
 import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.entities.dtos.SuggestionDTO;
 import com.lucasprojects.dscatalog.repositories.CategoryRepository;
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
 import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.repositories.ProductTombstoneRepository;
+import com.lucasprojects.dscatalog.services.cache.CatalogVersions;
+import com.lucasprojects.dscatalog.services.cache.CountCache;
+import com.lucasprojects.dscatalog.services.cache.ProductQueryCache;
+import com.lucasprojects.dscatalog.services.cache.ProductViewCache;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+import com.lucasprojects.dscatalog.services.search.CategoryIndex;
+import com.lucasprojects.dscatalog.services.search.FullTextIndex;
+import com.lucasprojects.dscatalog.services.search.PriceIndex;
+import com.lucasprojects.dscatalog.services.search.ProductNameIndex;
+import com.lucasprojects.dscatalog.services.search.SuggestionIndex;
+import com.lucasprojects.dscatalog.utils.ProductChangeCursor;
+import com.lucasprojects.dscatalog.utils.ProductCursor;
 
 @Service
 public class ProductService {
 
+	// Writes still in flight when a sync runs may carry slightly older timestamps
+	private static final Duration SYNC_LAG = Duration.ofSeconds(5);
+	// Above this many matches the IN list costs more than filtering in SQL
+	private static final int MAX_INDEXED_IDS = 10000;
+	private static final int BULK_CHUNK_SIZE = 1000;
+	private static final int MAX_SEARCH_WINDOW = 10000;
+
 	@Autowired
 	private ProductRepository repository;
 
 	@Autowired
 	private CategoryRepository categoryRepository;
 
+	@Autowired
+	private ProductNameIndex nameIndex;
+
+	@Autowired
+	private CategoryIndex categoryIndex;
+
+	@Autowired
+	private PriceIndex priceIndex;
+
+	@Autowired
+	private SuggestionIndex suggestionIndex;
+
+	@Autowired
+	private FullTextIndex fullTextIndex;
+
+	@Autowired
+	private ProductTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private CountCache countCache;
+
+	@Autowired
+	private ProductViewCache viewCache;
+
+	@Autowired
+	private CatalogVersions versions;
+
+	@Autowired
+	private ProductQueryCache queryCache;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
 	@Transactional(readOnly = true)
 	public Page<ProductDTO> findAll(Long categoryId, String name, Pageable pageable) {
-		List<Category> categories = (categoryId == 0) ? null : Arrays.asList(categoryRepository.getReferenceById(categoryId));
-		Page<Product> page = repository.find(categories, name, pageable);
-		repository.findProductsWithCategories(page.getContent());
-		
-		return page.map(entity -> new ProductDTO(entity, entity.getCategories()));
+		return findAll(new ProductFilter(categoryId, name), pageable);
+	}
+
+	@Transactional(readOnly = true)
+	public Page<ProductDTO> findAll(ProductFilter query, Pageable pageable) {
+		Page<ProductDTO> cached = queryCache.get(query, pageable);
+		if (cached != null) {
+			return cached;
+		}
+		long version = queryCache.version();
+		Page<ProductDTO> page = load(query, pageable);
+		queryCache.put(query, pageable, page, version);
+		return page;
 	}
 
+	/**
+	 * Typo-tolerant search on the name of {@code query}, in relevance order
+	 * instead of the requested sort. The other filters apply as usual.
+	 */
 	@Transactional(readOnly = true)
+	public Page<ProductDTO> findFuzzy(ProductFilter query, Pageable pageable) {
+		if (!query.hasName()) {
+			return findAll(query, pageable);
+		}
+		BitSet allowed = matching(query);
+		List<Long> ranked = nameIndex.fuzzySearch(query.getName()).stream()
+				.filter(id -> allowed.get(Math.toIntExact(id))).toList();
+
+		int from = (int) Math.min(pageable.isPaged() ? pageable.getOffset() : 0, ranked.size());
+		int to = pageable.isPaged() ? Math.min(from + pageable.getPageSize(), ranked.size()) : ranked.size();
+
+		return new PageImpl<>(findByIdsInOrder(ranked.subList(from, to), query.getFields()), pageable, ranked.size());
+	}
+
+	/**
+	 * Products whose name or description contain words of {@code text}, best
+	 * BM25 score first. The name filter of {@code query} is ignored, the other
+	 * filters apply as usual. Pages ending past the first
+	 * {@value #MAX_SEARCH_WINDOW} results are rejected.
+	 */
+	@Transactional(readOnly = true)
+	public Page<ProductDTO> searchFullText(ProductFilter query, String text, Pageable pageable) {
+		if (pageable.isPaged() && pageable.getOffset() + pageable.getPageSize() > MAX_SEARCH_WINDOW) {
+			throw new IllegalArgumentException("Only the first " + MAX_SEARCH_WINDOW + " search results can be paged through");
+		}
+		if (text.isEmpty()) {
+			return Page.empty(pageable);
+		}
+		int limit = pageable.isPaged() ? (int) pageable.getOffset() + pageable.getPageSize() : Integer.MAX_VALUE;
+		FullTextIndex.Result result = fullTextIndex.search(text, matching(query), limit);
+		List<Long> ranked = result.getIds();
+		int from = (int) Math.min(pageable.isPaged() ? pageable.getOffset() : 0, ranked.size());
+
+		return new PageImpl<>(findByIdsInOrder(ranked.subList(from, ranked.size()), query.getFields()), pageable,
+				result.getTotal());
+	}
+
+	@Transactional(readOnly = true)
+	public Slice<ProductDTO> findSlice(ProductFilter query, Pageable pageable) {
+		ProductFilter filter = resolve(query);
+		if (filter == null) {
+			return new SliceImpl<>(List.of(), pageable, false);
+		}
+
+		return repository.findSlice(filter, pageable);
+	}
+
+	/**
+	 * Number of listed products in each category for the name and price
+	 * filters of {@code query}; the category filter is ignored so other
+	 * categories can still be offered. Categories without matches are left out.
+	 */
+	@Transactional(readOnly = true)
+	public List<CategoryFacetDTO> findCategoryFacets(ProductFilter query) {
+		BitSet products = null;
+		if (query.hasName() || query.hasPriceRange()) {
+			products = categoryIndex.categorized();
+			if (query.hasName()) {
+				products.and(nameIndex.search(query.getName()));
+			}
+			if (query.hasPriceRange()) {
+				products.and(priceIndex.range(query.getMinPrice(), query.getMaxPrice()));
+			}
+		}
+		Map<Long, Integer> counts = categoryIndex.count(products);
+
+		return categoryRepository.findAll(Sort.by("name")).stream()
+				.filter(category -> counts.getOrDefault(category.getId(), 0) > 0)
+				.map(category -> new CategoryFacetDTO(category, counts.get(category.getId()))).toList();
+	}
+
+	public List<SuggestionDTO> suggest(String prefix, int limit) {
+		if (prefix.isEmpty()) {
+			return List.of();
+		}
+		return suggestionIndex.suggest(prefix, limit);
+	}
+
+	@Transactional(readOnly = true)
+	public PageDTO<ProductDTO> findAllAfter(ProductFilter query, String after, Sort sort, int size) {
+		ProductCursor cursor = after.isEmpty() ? ProductCursor.first(sort) : ProductCursor.decode(after);
+		if (!cursor.isCompatibleWith(sort)) {
+			throw new IllegalArgumentException("Sort does not match the cursor");
+		}
+
+		ProductFilter filter = resolve(query);
+		if (filter == null) {
+			return new PageDTO<>(List.of(), size, null);
+		}
+		List<Product> list = repository.findAfter(filter, cursor, size + 1);
+		boolean hasNext = list.size() > size;
+		List<Product> content = hasNext ? list.subList(0, size) : list;
+		String nextCursor = hasNext ? cursor.after(content.get(size - 1)).encode() : null;
+		// Categories are only fetched, in one statement, when the listing returns them
+		if (!filter.includes("categories")) {
+			return new PageDTO<>(content.stream().map(ProductDTO::new).toList(), size, nextCursor);
+		}
+		repository.findProductsWithCategories(content);
+		return new PageDTO<>(content.stream().map(entity -> new ProductDTO(entity, entity.getCategories())).toList(), size, nextCursor);
+	}
+
+	/**
+	 * Served from the view cache, except inside a writing transaction, which
+	 * has to see its own uncommitted changes. A miss loads the product and its
+	 * categories in one query, so no transaction is needed.
+	 */
 	public ProductDTO findById(Long id) {
-		Optional<Product> obj = repository.findById(id);
+		boolean cacheable = !TransactionSynchronizationManager.isActualTransactionActive()
+				|| TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+		if (cacheable) {
+			ProductDTO cached = viewCache.get(id);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		long version = viewCache.version();
+		Optional<Product> obj = repository.findWithCategories(id);
 		Product entity = obj.orElseThrow(() -> new EntityNotFoundException("Unable to find product with id " + id));
 
-		return new ProductDTO(entity, entity.getCategories());
+		ProductDTO dto = new ProductDTO(entity, entity.getCategories());
+		if (cacheable) {
+			viewCache.put(dto, version);
+		}
+		return dto;
+	}
+
+	/**
+	 * Products with the given ids in request order, duplicates included, with
+	 * one query for the products and one for their categories. Ids without a
+	 * product are reported instead of failing the whole batch.
+	 */
+	@Transactional(readOnly = true)
+	public ProductBatchDTO findAllById(List<Long> ids) {
+		List<Long> distinct = ids.stream().distinct().toList();
+		List<Product> list = repository.findAllById(distinct);
+		repository.findProductsWithCategories(list);
+		Map<Long, ProductDTO> products = list.stream()
+				.collect(Collectors.toMap(Product::getId, entity -> new ProductDTO(entity, entity.getCategories())));
+
+		List<ProductDTO> content = ids.stream().map(products::get).filter(Objects::nonNull).toList();
+		List<Long> missingIds = distinct.stream().filter(id -> !products.containsKey(id)).toList();
+		return new ProductBatchDTO(content, missingIds);
+	}
+
+	/**
+	 * A page of at most {@code limit} products inserted or updated and ids of
+	 * products deleted after {@code since}, continued by {@code after} when not
+	 * empty. Products come first, then deletions, each in the order they
+	 * happened. The returned {@code syncedAt}, the same on every page, is the
+	 * {@code since} of the next sync; it lags a little behind so writes
+	 * committing during this one are not missed, at the cost of sending a few
+	 * products twice.
+	 */
+	@Transactional(readOnly = true)
+	public ProductChangesDTO findChangesSince(Instant since, String after, int limit) {
+		ProductChangeCursor cursor;
+		if (!after.isEmpty()) {
+			cursor = ProductChangeCursor.decode(after);
+		} else if (since != null) {
+			Instant syncedAt = Instant.now().minus(SYNC_LAG);
+			cursor = ProductChangeCursor.first(since, syncedAt.isAfter(since) ? syncedAt : since);
+		} else {
+			throw new IllegalArgumentException("Either since or after is required");
+		}
+
+		List<ProductDTO> changed = List.of();
+		if (!cursor.isDeletions()) {
+			List<Product> list = repository.findChangedAfter(cursor.getAt(), cursor.getId(), limit + 1);
+			List<Product> page = list.subList(0, Math.min(limit, list.size()));
+			repository.findProductsWithCategories(page);
+			changed = page.stream().map(entity -> new ProductDTO(entity, entity.getCategories())).toList();
+			if (list.size() > limit) {
+				Product last = page.get(limit - 1);
+				Instant modifiedAt = (last.getUpdatedAt() != null) ? last.getUpdatedAt() : last.getCreatedAt();
+				return new ProductChangesDTO(changed, List.of(), cursor.getSyncedAt(),
+						cursor.afterChange(modifiedAt, last.getId()).encode());
+			}
+			cursor = cursor.firstDeletion();
+		}
+
+		int remaining = limit - changed.size();
+		List<ProductTombstone> list = tombstoneRepository.findDeletedAfter(cursor.getAt(), cursor.getId(), remaining + 1);
+		List<ProductTombstone> page = list.subList(0, Math.min(remaining, list.size()));
+		String nextCursor = null;
+		if (list.size() > remaining) {
+			nextCursor = page.isEmpty() ? cursor.encode()
+					: cursor.afterDeletion(page.get(remaining - 1).getDeletedAt(), page.get(remaining - 1).getProductId()).encode();
+		}
+		return new ProductChangesDTO(changed, page.stream().map(ProductTombstone::getProductId).toList(),
+				cursor.getSyncedAt(), nextCursor);
+	}
+
+	/**
+	 * Strong ETag of the product, or {@code null} when it does not exist. It
+	 * changes with the product's last write and with any category change,
+	 * since category names are part of the representation.
+	 */
+	@Transactional(readOnly = true)
+	public String findETag(Long id) {
+		Instant lastModified = repository.findLastModified(id);
+		if (lastModified == null) {
+			return null;
+		}
+		return id + "-" + ChronoUnit.MICROS.between(Instant.EPOCH, lastModified) + "-" + versions.categories();
+	}
+
+	/**
+	 * ETag shared by all product listings; it changes after every committed write.
+	 */
+	public String listingETag() {
+		return "products-" + versions.products();
 	}
 
 	@Transactional
@@ -52,15 +351,21 @@ public class ProductService {
 		dtoToProduct(dto, entity);
 		entity = repository.save(entity);
 
-		return new ProductDTO(entity, entity.getCategories());
+		ProductDTO result = new ProductDTO(entity, entity.getCategories());
+		publisher.publishEvent(ProductChangeEvent.inserted(result));
+		return result;
 	}
 
 	@Transactional
 	public ProductDTO update(Long id, ProductDTO dto) {
 		try {
 			Product entity = repository.getReferenceById(id);
+			ProductDTO previous = new ProductDTO(entity, entity.getCategories());
 			dtoToProduct(dto, entity);
+			// @PreUpdate does not run when only the categories change
+			entity.setUpdatedAt(Instant.now());
 			entity = repository.save(entity);
+			publisher.publishEvent(ProductChangeEvent.updated(previous, new ProductDTO(entity, entity.getCategories())));
 			return new ProductDTO(entity);
 		} catch (EntityNotFoundException e) {
 			if (!e.equals(null)) {
@@ -70,9 +375,16 @@ public class ProductService {
 		}
 	}
 
+	@Transactional
 	public void delete(Long id) {
 		try {
+			ProductDTO previous = repository.findWithCategories(id).map(entity -> new ProductDTO(entity, entity.getCategories()))
+					.orElse(null);
 			repository.deleteById(id);
+			// Surfaces integrity violations here rather than at commit
+			repository.flush();
+			tombstoneRepository.save(new ProductTombstone(id, Instant.now()));
+			publisher.publishEvent(ProductChangeEvent.deleted(id, previous));
 		} catch (EmptyResultDataAccessException e) {
 			throw new EntityNotFoundException("Unable to find product with id " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -80,21 +392,181 @@ public class ProductService {
 		}
 	}
 
+	private Page<ProductDTO> load(ProductFilter query, Pageable pageable) {
+		ProductFilter filter = resolve(query);
+		if (filter == null) {
+			return Page.empty(pageable);
+		}
+
+		Long total = countCache.get(query);
+		if (total == null) {
+			Page<ProductDTO> page = repository.findPage(filter, pageable);
+			countCache.put(query, page.getTotalElements());
+			return page;
+		}
+		return new PageImpl<>(repository.findSlice(filter, pageable).getContent(), pageable, total);
+	}
+
+	/**
+	 * Applies {@code changes} to every listed product matching {@code query}
+	 * with a few set-based statements per {@value #BULK_CHUNK_SIZE} products.
+	 * The matching products are fixed before any change, so a change never
+	 * alters which products the others apply to. Returns how many products
+	 * matched.
+	 */
+	@Transactional
+	public BulkResultDTO updateAll(ProductFilter query, ProductBulkUpdateDTO changes) {
+		Double multiplier = changes.getPriceMultiplier();
+		if (multiplier == null && changes.getAddCategoryIds().isEmpty() && changes.getRemoveCategoryIds().isEmpty()) {
+			throw new IllegalArgumentException("Nothing to update");
+		}
+		if (multiplier != null && (multiplier <= 0 || multiplier.isInfinite() || multiplier.isNaN())) {
+			throw new IllegalArgumentException("priceMultiplier must be positive");
+		}
+		List<Long> categoryIds = new ArrayList<>(changes.getAddCategoryIds());
+		categoryIds.addAll(changes.getRemoveCategoryIds());
+		categoryIds.forEach(categoryId -> {
+			if (!categoryRepository.existsById(categoryId)) {
+				throw new EntityNotFoundException("Unable to find category with id " + categoryId);
+			}
+		});
+
+		BitSet matches = matching(query);
+		if (query.hasName()) {
+			matches.and(nameIndex.search(query.getName()));
+		}
+		List<Long> ids = matches.stream().mapToObj(Long::valueOf).toList();
+		Instant now = Instant.now();
+		List<ProductDTO> updated = new ArrayList<>(ids.size());
+		for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+			List<Long> chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+			if (multiplier != null) {
+				repository.multiplyPrices(chunk, multiplier, now);
+			} else {
+				repository.touch(chunk, now);
+			}
+			changes.getAddCategoryIds().forEach(categoryId -> repository.addCategory(chunk, categoryId));
+			changes.getRemoveCategoryIds().forEach(categoryId -> repository.removeCategory(chunk, categoryId));
+			// The statements cleared the persistence context, so this reads the new state for the indexes
+			List<Product> list = repository.findAllById(chunk);
+			repository.findProductsWithCategories(list);
+			list.forEach(entity -> updated.add(new ProductDTO(entity, entity.getCategories())));
+		}
+		if (!updated.isEmpty()) {
+			publisher.publishEvent(new ProductBulkChangeEvent(updated));
+		}
+		return new BulkResultDTO(ids.size());
+	}
+
+	/**
+	 * Deletes the given products with a couple of statements per
+	 * {@value #BULK_CHUNK_SIZE} ids. Returns how many existed.
+	 */
+	@Transactional
+	public BulkResultDTO deleteAll(List<Long> ids) {
+		List<Long> distinct = ids.stream().distinct().toList();
+		Instant now = Instant.now();
+		int deleted = 0;
+		for (int from = 0; from < distinct.size(); from += BULK_CHUNK_SIZE) {
+			List<Long> chunk = distinct.subList(from, Math.min(from + BULK_CHUNK_SIZE, distinct.size()));
+			tombstoneRepository.insertForProducts(chunk, now);
+			repository.deleteCategoriesByProductIds(chunk);
+			deleted += repository.deleteAllByIds(chunk);
+		}
+		if (deleted > 0) {
+			publisher.publishEvent(new ProductBulkChangeEvent(deleted, distinct));
+		}
+		return new BulkResultDTO(deleted);
+	}
+
+	/**
+	 * Copy of {@code query} with the name, category and price filters replaced by the
+	 * matching ids from the in-memory indexes, unless there are too many matches
+	 * to be worth an IN list. Returns {@code null} when nothing can match.
+	 */
+	private ProductFilter resolve(ProductFilter query) {
+		ProductFilter filter = new ProductFilter(query);
+		if (!filter.hasName() && !filter.hasCategories() && !filter.hasPriceRange()) {
+			return filter;
+		}
+		BitSet ids = matching(filter);
+		if (filter.hasName()) {
+			ids.and(nameIndex.search(filter.getName()));
+		}
+		if (ids.isEmpty()) {
+			return null;
+		}
+		if (ids.cardinality() <= MAX_INDEXED_IDS) {
+			filter.setIds(ids.stream().mapToObj(Long::valueOf).toList());
+			filter.setName(null);
+			filter.setCategoryIds(List.of());
+			filter.setMinPrice(null);
+			filter.setMaxPrice(null);
+		}
+		return filter;
+	}
+
+	private List<ProductDTO> findByIdsInOrder(List<Long> ids, Set<String> fields) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		ProductFilter filter = new ProductFilter();
+		filter.setIds(ids);
+		filter.setFields(fields);
+		Map<Long, ProductDTO> products = repository.findPage(filter, Pageable.unpaged()).getContent().stream()
+				.collect(Collectors.toMap(ProductDTO::getId, Function.identity()));
+
+		return ids.stream().map(products::get).filter(Objects::nonNull).toList();
+	}
+
+	// Listed products passing the category and price filters
+	private BitSet matching(ProductFilter filter) {
+		BitSet ids = filter.hasCategories() ? categoryIndex.match(filter.getCategoryIds(), filter.isMatchAll())
+				: categoryIndex.categorized();
+		if (filter.hasPriceRange()) {
+			ids.and(priceIndex.range(filter.getMinPrice(), filter.getMaxPrice()));
+		}
+		return ids;
+	}
+
 	private void dtoToProduct(ProductDTO dto, Product entity) {
 		entity.setName(dto.getName());
 		entity.setDescription(dto.getDescription());
 		entity.setPrice(dto.getPrice());
 		entity.setImgUrl(dto.getImgUrl());
 		entity.setDate(dto.getDate());
-		entity.getCategories().clear();
-
-		dto.getCategories().forEach(catDto -> {
-			try {
-				Category category = categoryRepository.getReferenceById(catDto.getId());
-				entity.getCategories().add(category);
-			} catch (EntityNotFoundException e) {
-				throw new EntityNotFoundException("Unable to find category with id " + catDto.getId());
+		// Only categories the product is not in yet are loaded and only changed rows are written
+		Set<Long> ids = categoryIds(dto.getCategories());
+		entity.getCategories().removeIf(category -> !ids.contains(category.getId()));
+		entity.getCategories().forEach(category -> ids.remove(category.getId()));
+		entity.getCategories().addAll(findCategories(ids));
+	}
+
+	private static Set<Long> categoryIds(Collection<CategoryDTO> categories) {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (CategoryDTO category : categories) {
+			if (category.getId() == null) {
+				throw new IllegalArgumentException("Category id must not be null");
 			}
-		});
+			ids.add(category.getId());
+		}
+		return ids;
+	}
+
+	/**
+	 * Loads categories in one statement, failing with every unknown id
+	 * before anything reaches the join table.
+	 */
+	private List<Category> findCategories(Set<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		List<Category> found = categoryRepository.findAllById(ids);
+		if (found.size() < ids.size()) {
+			found.forEach(category -> ids.remove(category.getId()));
+			throw new EntityNotFoundException("Unable to find categories with ids "
+					+ ids.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+		}
+		return found;
 	}
 }
@@ -1,16 +1,24 @@
 package com.lucasprojects.dscatalog.services;
 
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.persistence.EntityNotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,10 +28,13 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.lucasprojects.dscatalog.entities.Role;
 import com.lucasprojects.dscatalog.entities.User;
+import com.lucasprojects.dscatalog.entities.dtos.RoleDTO;
 import com.lucasprojects.dscatalog.entities.dtos.UserDTO;
 import com.lucasprojects.dscatalog.entities.dtos.UserInsertDTO;
 import com.lucasprojects.dscatalog.repositories.RoleRepository;
 import com.lucasprojects.dscatalog.repositories.UserRepository;
+import com.lucasprojects.dscatalog.services.cache.UserCountCache;
+import com.lucasprojects.dscatalog.services.events.UserChangeEvent;
 
 @Service
 public class UserService implements UserDetailsService {
@@ -39,11 +50,34 @@ public class UserService implements UserDetailsService {
 	@Autowired
 	private RoleRepository roleRepository;
 
+	@Autowired
+	private UserCountCache countCache;
+
+	@Autowired
+	private ApplicationEventPublisher publisher;
+
+	/**
+	 * Page of users; without {@code withRoles} the roles are neither loaded
+	 * nor returned.
+	 */
+	@Transactional(readOnly = true)
+	public Page<UserDTO> findAllPaged(Pageable pageable, boolean withRoles) {
+		Long total = countCache.get();
+		if (total == null) {
+			Page<User> page = repository.findAll(pageable);
+			countCache.put(page.getTotalElements());
+			return page.map(entity -> toDTO(entity, withRoles));
+		}
+		Slice<User> slice = repository.findAllBy(pageable);
+
+		return new PageImpl<>(slice.getContent(), pageable, total).map(entity -> toDTO(entity, withRoles));
+	}
+
 	@Transactional(readOnly = true)
-	public Page<UserDTO> findAllPaged(Pageable pageable) {
-		Page<User> page = repository.findAll(pageable);
+	public Slice<UserDTO> findSlice(Pageable pageable, boolean withRoles) {
+		Slice<User> slice = repository.findAllBy(pageable);
 
-		return page.map(entity -> new UserDTO(entity));
+		return slice.map(entity -> toDTO(entity, withRoles));
 	}
 
 	@Transactional(readOnly = true)
@@ -60,6 +94,7 @@ public class UserService implements UserDetailsService {
 		dtoToUser(dto, entity);
 		entity.setPassword(passwordEncoder.encode(dto.getPassword()));
 		entity = repository.save(entity);
+		publisher.publishEvent(UserChangeEvent.inserted(entity.getId()));
 
 		return new UserDTO(entity);
 	}
@@ -70,9 +105,10 @@ public class UserService implements UserDetailsService {
 			User entity = repository.getReferenceById(id);
 			dtoToUser(dto, entity);
 			entity = repository.save(entity);
+			publisher.publishEvent(UserChangeEvent.updated(id));
 			return new UserDTO(entity);
 		} catch (EntityNotFoundException e) {
-			if(e.getMessage() != null && e.getMessage().contains("category")) {
+			if (e.getMessage() != null && e.getMessage().startsWith("Unable to find roles")) {
 				throw new EntityNotFoundException(e.getMessage());
 			}
 			throw new EntityNotFoundException("Unable to find user with id " + id);
@@ -82,6 +118,7 @@ public class UserService implements UserDetailsService {
 	public void delete(Long id) {
 		try {
 			repository.deleteById(id);
+			publisher.publishEvent(UserChangeEvent.deleted(id));
 		} catch (EmptyResultDataAccessException e) {
 			throw new EntityNotFoundException("Unable to find user with id " + id);
 		} catch (DataIntegrityViolationException e) {
@@ -93,16 +130,36 @@ public class UserService implements UserDetailsService {
 		entity.setFirstName(dto.getFirstName());
 		entity.setLastName(dto.getLastName());
 		entity.setEmail(dto.getEmail());;
-		entity.getRoles().clear();
-		
-		dto.getRoles().forEach(roleDto -> {
-			try {
-				Role obj = roleRepository.getReferenceById(roleDto.getId());
-				entity.getRoles().add(obj);
-			} catch (EntityNotFoundException e) {
-				throw new EntityNotFoundException("Unable to find category with id " + roleDto.getId());
+		// Only roles the user does not have yet are loaded and only changed rows are written
+		Set<Long> ids = roleIds(dto.getRoles());
+		entity.getRoles().removeIf(role -> !ids.contains(role.getId()));
+		entity.getRoles().forEach(role -> ids.remove(role.getId()));
+		entity.getRoles().addAll(findRoles(ids));
+	}
+
+	private static Set<Long> roleIds(Collection<RoleDTO> roles) {
+		Set<Long> ids = new LinkedHashSet<>();
+		for (RoleDTO role : roles) {
+			if (role.getId() == null) {
+				throw new IllegalArgumentException("Role id must not be null");
 			}
-		});
+			ids.add(role.getId());
+		}
+		return ids;
+	}
+
+	// One statement for all roles, reporting every unknown id at once
+	private List<Role> findRoles(Set<Long> ids) {
+		if (ids.isEmpty()) {
+			return List.of();
+		}
+		List<Role> found = roleRepository.findAllById(ids);
+		if (found.size() < ids.size()) {
+			found.forEach(role -> ids.remove(role.getId()));
+			throw new EntityNotFoundException("Unable to find roles with ids "
+					+ ids.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+		}
+		return found;
 	}
 
 	@Override
@@ -116,4 +173,9 @@ public class UserService implements UserDetailsService {
 		logger.info("User found: " + username);
 		return user;
 	}
+
+	private UserDTO toDTO(User entity, boolean withRoles) {
+		return withRoles ? new UserDTO(entity)
+				: new UserDTO(entity.getId(), entity.getFirstName(), entity.getLastName(), entity.getEmail());
+	}
 }
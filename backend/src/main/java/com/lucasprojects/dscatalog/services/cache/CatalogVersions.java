@@ -0,0 +1,52 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Version counters for the product and category listings, bumped after every
+ * committed write once the indexes have applied it. They start at the boot time so versions handed out before
+ * a restart are never reused for different content.
+ */
+@Component
+public class CatalogVersions {
+
+	private final AtomicLong products = new AtomicLong(System.currentTimeMillis());
+	private final AtomicLong categories = new AtomicLong(System.currentTimeMillis());
+
+	public long products() {
+		return products.get();
+	}
+
+	public long categories() {
+		return categories.get();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		products.incrementAndGet();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		products.incrementAndGet();
+	}
+
+	// Products embed their category names
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChange(CategoryChangeEvent event) {
+		categories.incrementAndGet();
+		products.incrementAndGet();
+	}
+}
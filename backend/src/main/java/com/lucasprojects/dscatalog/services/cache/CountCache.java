@@ -0,0 +1,87 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Short-lived totals for paged product listings, keyed by the listing's
+ * filter. Any product write clears the whole cache; the TTL bounds staleness
+ * from other sources.
+ */
+@Component
+public class CountCache {
+
+	private static final int MAX_ENTRIES = 10000;
+
+	@Value("${count-cache.ttl}")
+	private Duration ttl;
+
+	private final Map<ProductFilter, Entry> entries = new ConcurrentHashMap<>();
+
+	public Long get(ProductFilter filter) {
+		ProductFilter key = key(filter);
+		Entry entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (entry.expiresAt < System.nanoTime()) {
+			entries.remove(key, entry);
+			return null;
+		}
+		return entry.count;
+	}
+
+	public void put(ProductFilter filter, long count) {
+		if (entries.size() >= MAX_ENTRIES) {
+			entries.clear();
+		}
+		entries.put(key(filter), new Entry(count, System.nanoTime() + ttl.toNanos()));
+	}
+
+	public void clear() {
+		entries.clear();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		clear();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		clear();
+	}
+
+	// The selected fields do not change the count, so listings differing only in them share it
+	private static ProductFilter key(ProductFilter filter) {
+		if (filter.getFields() == null) {
+			return filter;
+		}
+		ProductFilter key = new ProductFilter(filter);
+		key.setFields(null);
+		return key;
+	}
+
+	private static class Entry {
+		private final long count;
+		private final long expiresAt;
+
+		private Entry(long count, long expiresAt) {
+			this.count = count;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,142 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Serialized JSON of products, nested categories included, keyed by id and
+ * least recently used first out. Each entry keeps the modification times of
+ * the product and its categories it was written from and is only used for a
+ * product loaded at exactly the same versions, so a product loaded before a
+ * write can never pick up newer JSON and the other way around. Products
+ * whose versions are unknown are not cached. Writes evict their product to
+ * free the memory.
+ */
+@Component
+public class ProductJsonCache {
+
+	/**
+	 * Serialization attribute that writes products without the cache, for
+	 * bulk output that would otherwise evict the entries responses reuse.
+	 */
+	public static final String BYPASS = ProductJsonCache.class.getName() + ".bypass";
+
+	@Value("${json-cache.max-entries}")
+	private int maxEntries;
+
+	private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * UTF-8 JSON of {@code product}, or {@code null} when not cached.
+	 */
+	public synchronized byte[] get(ProductDTO product) {
+		Entry entry = entries.get(product.getId());
+		if (entry == null || !entry.isVersionOf(product)) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.json;
+	}
+
+	/**
+	 * Caches {@code json}, the UTF-8 JSON of {@code product}. The bytes must
+	 * not be modified afterwards.
+	 */
+	public synchronized void put(ProductDTO product, byte[] json) {
+		if (product.getId() == null || !isVersioned(product)) {
+			return;
+		}
+		entries.put(product.getId(), new Entry(product, json));
+		if (entries.size() > maxEntries) {
+			Iterator<Long> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	public synchronized void remove(Long id) {
+		entries.remove(id);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long hits() {
+		return hits.sum();
+	}
+
+	public long misses() {
+		return misses.sum();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		remove(event.getId());
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		clear();
+	}
+
+	private static boolean isVersioned(ProductDTO product) {
+		return product.getUpdatedAt() != null
+				&& product.getCategories().stream().allMatch(category -> category.getUpdatedAt() != null);
+	}
+
+	private static class Entry {
+		private final Instant updatedAt;
+		private final Long[] categoryIds;
+		private final Instant[] categoryUpdatedAt;
+		private final byte[] json;
+
+		private Entry(ProductDTO product, byte[] json) {
+			List<CategoryDTO> categories = product.getCategories();
+			this.updatedAt = product.getUpdatedAt();
+			this.categoryIds = categories.stream().map(CategoryDTO::getId).toArray(Long[]::new);
+			this.categoryUpdatedAt = categories.stream().map(CategoryDTO::getUpdatedAt).toArray(Instant[]::new);
+			this.json = json;
+		}
+
+		// The same categories in the same order, since their order shows in the JSON
+		private boolean isVersionOf(ProductDTO product) {
+			List<CategoryDTO> categories = product.getCategories();
+			if (!Objects.equals(updatedAt, product.getUpdatedAt()) || categories.size() != categoryIds.length) {
+				return false;
+			}
+			for (int i = 0; i < categoryIds.length; i++) {
+				if (!Objects.equals(categoryIds[i], categories.get(i).getId())
+						|| !Objects.equals(categoryUpdatedAt[i], categories.get(i).getUpdatedAt())) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Pages of the product listing keyed by filter and pageable, least recently
+ * used first out. A product write only evicts the pages whose filter matches
+ * the product before or after the change, and a category rename only the
+ * pages showing one of its products.
+ */
+@Component
+public class ProductQueryCache {
+
+	@Value("${query-cache.ttl}")
+	private Duration ttl;
+
+	@Value("${query-cache.max-entries}")
+	private int maxEntries;
+
+	private final LinkedHashMap<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long version;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public synchronized Page<ProductDTO> get(ProductFilter query, Pageable pageable) {
+		List<Object> key = List.of(query, pageable);
+		Entry entry = entries.get(key);
+		if (entry != null && entry.expiresAt < System.nanoTime()) {
+			entries.remove(key);
+			evictions.increment();
+			entry = null;
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.page;
+	}
+
+	/**
+	 * Token to pass to {@link #put}; a page computed before an invalidation is
+	 * then dropped instead of cached.
+	 */
+	public synchronized long version() {
+		return version;
+	}
+
+	public synchronized void put(ProductFilter query, Pageable pageable, Page<ProductDTO> page, long version) {
+		if (version != this.version) {
+			return;
+		}
+		entries.put(List.of(new ProductFilter(query), pageable), new Entry(page, System.nanoTime() + ttl.toNanos()));
+		if (entries.size() > maxEntries) {
+			Iterator<List<Object>> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+			evictions.increment();
+		}
+	}
+
+	public synchronized void clear() {
+		version++;
+		evictions.add(entries.size());
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long hits() {
+		return hits.sum();
+	}
+
+	public long misses() {
+		return misses.sum();
+	}
+
+	public long evictions() {
+		return evictions.sum();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		ProductDTO before = event.getPrevious();
+		ProductDTO after = event.getProduct();
+		if (event.getType() != ProductChangeEvent.Type.INSERTED && before == null) {
+			// The previous state is unknown, so any page may have shown the product
+			clear();
+			return;
+		}
+		evictIf((query, page) -> (before != null && query.matches(before)) || (after != null && query.matches(after)));
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		clear();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChange(CategoryChangeEvent event) {
+		if (event.getType() != CategoryChangeEvent.Type.UPDATED) {
+			return;
+		}
+		evictIf((query, page) -> page.getContent().stream().anyMatch(
+				product -> product.getCategories().stream().anyMatch(category -> category.getId().equals(event.getId()))));
+	}
+
+	private synchronized void evictIf(EntryPredicate predicate) {
+		version++;
+		Iterator<Map.Entry<List<Object>, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			Map.Entry<List<Object>, Entry> entry = iterator.next();
+			if (predicate.test((ProductFilter) entry.getKey().get(0), entry.getValue().page)) {
+				iterator.remove();
+				evictions.increment();
+			}
+		}
+	}
+
+	private interface EntryPredicate {
+		boolean test(ProductFilter query, Page<ProductDTO> page);
+	}
+
+	private static class Entry {
+		private final Page<ProductDTO> page;
+		private final long expiresAt;
+
+		private Entry(Page<ProductDTO> page, long expiresAt) {
+			this.page = page;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
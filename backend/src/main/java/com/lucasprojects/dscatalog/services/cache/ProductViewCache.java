@@ -0,0 +1,149 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Fully built single product views keyed by id, least recently used first
+ * out. New products are written through; updated and deleted ones are
+ * evicted, since listeners of concurrent commits may run out of order. DTOs
+ * are mutable, so they are copied on the way in and out.
+ */
+@Component
+public class ProductViewCache {
+
+	@Value("${product-cache.ttl}")
+	private Duration ttl;
+
+	@Value("${product-cache.max-entries}")
+	private int maxEntries;
+
+	private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private long version;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	public synchronized ProductDTO get(Long id) {
+		Entry entry = entries.get(id);
+		if (entry != null && entry.expiresAt < System.nanoTime()) {
+			entries.remove(id);
+			evictions.increment();
+			entry = null;
+		}
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return new ProductDTO(entry.product);
+	}
+
+	/**
+	 * Token to pass to {@link #put}; a view loaded before an invalidation is
+	 * then dropped instead of cached.
+	 */
+	public synchronized long version() {
+		return version;
+	}
+
+	public synchronized void put(ProductDTO product, long version) {
+		if (version != this.version) {
+			return;
+		}
+		entries.put(product.getId(), new Entry(new ProductDTO(product), System.nanoTime() + ttl.toNanos()));
+		if (entries.size() > maxEntries) {
+			Iterator<Long> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+			evictions.increment();
+		}
+	}
+
+	public synchronized void remove(Long id) {
+		version++;
+		if (entries.remove(id) != null) {
+			evictions.increment();
+		}
+	}
+
+	public synchronized void clear() {
+		version++;
+		evictions.add(entries.size());
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public long hits() {
+		return hits.sum();
+	}
+
+	public long misses() {
+		return misses.sum();
+	}
+
+	public long evictions() {
+		return evictions.sum();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getType() == ProductChangeEvent.Type.INSERTED) {
+			put(event.getProduct(), version());
+		} else {
+			remove(event.getId());
+		}
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		clear();
+	}
+
+	@Order(ChangeListenerOrder.CACHES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onCategoryChange(CategoryChangeEvent event) {
+		if (event.getType() == CategoryChangeEvent.Type.INSERTED) {
+			return;
+		}
+		version++;
+		Iterator<Map.Entry<Long, Entry>> iterator = entries.entrySet().iterator();
+		while (iterator.hasNext()) {
+			ProductDTO product = iterator.next().getValue().product;
+			if (product.getCategories().stream().anyMatch(category -> category.getId().equals(event.getId()))) {
+				iterator.remove();
+				evictions.increment();
+			}
+		}
+	}
+
+	private static class Entry {
+		private final ProductDTO product;
+		private final long expiresAt;
+
+		private Entry(ProductDTO product, long expiresAt) {
+			this.product = product;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.services.events.UserChangeEvent;
+
+/**
+ * Short-lived total of the user listing, kept apart from the product totals
+ * so user and product writes do not clear each other's. Inserts and deletes
+ * clear it once committed; the TTL bounds staleness from other sources.
+ */
+@Component
+public class UserCountCache {
+
+	@Value("${count-cache.ttl}")
+	private Duration ttl;
+
+	private volatile Entry entry;
+
+	public Long get() {
+		Entry current = entry;
+		if (current == null || current.expiresAt < System.nanoTime()) {
+			return null;
+		}
+		return current.count;
+	}
+
+	public void put(long count) {
+		entry = new Entry(count, System.nanoTime() + ttl.toNanos());
+	}
+
+	public void clear() {
+		entry = null;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onUserChange(UserChangeEvent event) {
+		if (event.getType() != UserChangeEvent.Type.UPDATED) {
+			clear();
+		}
+	}
+
+	private static class Entry {
+		private final long count;
+		private final long expiresAt;
+
+		private Entry(long count, long expiresAt) {
+			this.count = count;
+			this.expiresAt = expiresAt;
+		}
+	}
+}
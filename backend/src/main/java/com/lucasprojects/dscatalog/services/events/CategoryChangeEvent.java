@@ -0,0 +1,47 @@
+package com.lucasprojects.dscatalog.services.events;
+
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+
+public class CategoryChangeEvent {
+
+	public enum Type {
+		INSERTED, UPDATED, DELETED
+	}
+
+	private final Type type;
+	private final Long id;
+	private final CategoryDTO category;
+
+	private CategoryChangeEvent(Type type, Long id, CategoryDTO category) {
+		this.type = type;
+		this.id = id;
+		this.category = category;
+	}
+
+	public static CategoryChangeEvent inserted(CategoryDTO category) {
+		return new CategoryChangeEvent(Type.INSERTED, category.getId(), category);
+	}
+
+	public static CategoryChangeEvent updated(CategoryDTO category) {
+		return new CategoryChangeEvent(Type.UPDATED, category.getId(), category);
+	}
+
+	public static CategoryChangeEvent deleted(Long id) {
+		return new CategoryChangeEvent(Type.DELETED, id, null);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * State of the category after the change, or {@code null} when it was deleted.
+	 */
+	public CategoryDTO getCategory() {
+		return category;
+	}
+}
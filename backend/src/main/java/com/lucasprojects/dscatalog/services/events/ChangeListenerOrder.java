@@ -0,0 +1,18 @@
+package com.lucasprojects.dscatalog.services.events;
+
+import org.springframework.core.Ordered;
+
+/**
+ * Order of the listeners applying committed changes. The search indexes go
+ * first, so a cache miss served after a cache was invalidated never reads ids
+ * from an index that has not seen the change yet.
+ */
+public final class ChangeListenerOrder {
+
+	public static final int INDEXES = Ordered.HIGHEST_PRECEDENCE;
+
+	public static final int CACHES = Ordered.LOWEST_PRECEDENCE;
+
+	private ChangeListenerOrder() {
+	}
+}
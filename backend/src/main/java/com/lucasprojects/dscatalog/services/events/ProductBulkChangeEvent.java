@@ -0,0 +1,48 @@
+package com.lucasprojects.dscatalog.services.events;
+
+import java.util.List;
+
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+
+/**
+ * Many products changed at once. Indexes apply the changes directly and
+ * caches clear instead of receiving one {@link ProductChangeEvent} per
+ * product.
+ */
+public class ProductBulkChangeEvent {
+
+	private final int count;
+	private final List<ProductDTO> products;
+	private final List<Long> deletedIds;
+
+	public ProductBulkChangeEvent(List<ProductDTO> products) {
+		this.count = products.size();
+		this.products = products;
+		this.deletedIds = List.of();
+	}
+
+	public ProductBulkChangeEvent(int count, List<Long> deletedIds) {
+		this.count = count;
+		this.products = List.of();
+		this.deletedIds = deletedIds;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * State of the inserted or updated products after the change.
+	 */
+	public List<ProductDTO> getProducts() {
+		return products;
+	}
+
+	/**
+	 * Ids of the deleted products, possibly including ids that did not
+	 * exist.
+	 */
+	public List<Long> getDeletedIds() {
+		return deletedIds;
+	}
+}
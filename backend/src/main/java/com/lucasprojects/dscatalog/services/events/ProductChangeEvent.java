@@ -0,0 +1,57 @@
+package com.lucasprojects.dscatalog.services.events;
+
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+
+public class ProductChangeEvent {
+
+	public enum Type {
+		INSERTED, UPDATED, DELETED
+	}
+
+	private final Type type;
+	private final Long id;
+	private final ProductDTO product;
+	private final ProductDTO previous;
+
+	private ProductChangeEvent(Type type, Long id, ProductDTO product, ProductDTO previous) {
+		this.type = type;
+		this.id = id;
+		this.product = product;
+		this.previous = previous;
+	}
+
+	public static ProductChangeEvent inserted(ProductDTO product) {
+		return new ProductChangeEvent(Type.INSERTED, product.getId(), product, null);
+	}
+
+	public static ProductChangeEvent updated(ProductDTO previous, ProductDTO product) {
+		return new ProductChangeEvent(Type.UPDATED, product.getId(), product, previous);
+	}
+
+	public static ProductChangeEvent deleted(Long id, ProductDTO previous) {
+		return new ProductChangeEvent(Type.DELETED, id, null, previous);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	/**
+	 * State of the product after the change, or {@code null} when it was deleted.
+	 */
+	public ProductDTO getProduct() {
+		return product;
+	}
+
+	/**
+	 * State of the product before the change, or {@code null} when it was
+	 * inserted or its previous state is unknown.
+	 */
+	public ProductDTO getPrevious() {
+		return previous;
+	}
+}
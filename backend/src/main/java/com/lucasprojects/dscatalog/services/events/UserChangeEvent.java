@@ -0,0 +1,36 @@
+package com.lucasprojects.dscatalog.services.events;
+
+public class UserChangeEvent {
+
+	public enum Type {
+		INSERTED, UPDATED, DELETED
+	}
+
+	private final Type type;
+	private final Long id;
+
+	private UserChangeEvent(Type type, Long id) {
+		this.type = type;
+		this.id = id;
+	}
+
+	public static UserChangeEvent inserted(Long id) {
+		return new UserChangeEvent(Type.INSERTED, id);
+	}
+
+	public static UserChangeEvent updated(Long id) {
+		return new UserChangeEvent(Type.UPDATED, id);
+	}
+
+	public static UserChangeEvent deleted(Long id) {
+		return new UserChangeEvent(Type.DELETED, id);
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
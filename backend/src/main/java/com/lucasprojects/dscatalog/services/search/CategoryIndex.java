@@ -0,0 +1,178 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * One bitmap of product ids per category. Product ids are dense identity
+ * values, so a plain {@link BitSet} stays compact and AND/OR run word by word.
+ * <p>
+ * A rebuild loads a new {@link State} without the lock and only takes the
+ * write lock to swap it in, so readers never wait for the database.
+ */
+@Component
+public class CategoryIndex {
+
+	@Autowired
+	private ProductRepository repository;
+
+	private volatile State state = new State();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@PostConstruct
+	public synchronized void rebuild() {
+		State built = new State();
+		repository.findAllCategoryIds().forEach(row -> built.add((Long) row[0], (Long) row[1]));
+		lock.writeLock().lock();
+		try {
+			state = built;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public synchronized void put(Long productId, Collection<Long> categoryIds) {
+		lock.writeLock().lock();
+		try {
+			state.removeProduct(productId);
+			categoryIds.forEach(categoryId -> state.add(productId, categoryId));
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public synchronized void remove(Long productId) {
+		lock.writeLock().lock();
+		try {
+			state.removeProduct(productId);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Products in all ({@code matchAll}) or any of the given categories.
+	 */
+	public BitSet match(Collection<Long> categoryIds, boolean matchAll) {
+		lock.readLock().lock();
+		try {
+			BitSet result = null;
+			for (Long categoryId : categoryIds) {
+				BitSet products = state.productsByCategory.getOrDefault(categoryId, new BitSet());
+				if (result == null) {
+					result = (BitSet) products.clone();
+				} else if (matchAll) {
+					result.and(products);
+				} else {
+					result.or(products);
+				}
+			}
+			return (result == null) ? new BitSet() : result;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Products with at least one category, the only ones the listing shows.
+	 */
+	public BitSet categorized() {
+		lock.readLock().lock();
+		try {
+			return (BitSet) state.categorized.clone();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Number of products from {@code products} in each category, or of all
+	 * products when {@code products} is {@code null}.
+	 */
+	public Map<Long, Integer> count(BitSet products) {
+		lock.readLock().lock();
+		try {
+			State current = state;
+			Map<Long, Integer> counts = new HashMap<>();
+			if (products == null) {
+				current.productsByCategory.forEach((categoryId, bits) -> counts.put(categoryId, bits.cardinality()));
+				return counts;
+			}
+			products.stream().forEach(bit -> {
+				Set<Long> categoryIds = current.categoriesByProduct.get((long) bit);
+				if (categoryIds != null) {
+					categoryIds.forEach(categoryId -> counts.merge(categoryId, 1, Integer::sum));
+				}
+			});
+			return counts;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getType() == ProductChangeEvent.Type.DELETED) {
+			remove(event.getId());
+		} else {
+			put(event.getId(), categoryIds(event.getProduct()));
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		event.getProducts().forEach(product -> put(product.getId(), categoryIds(product)));
+		event.getDeletedIds().forEach(this::remove);
+	}
+
+	private static Set<Long> categoryIds(ProductDTO product) {
+		return product.getCategories().stream().map(CategoryDTO::getId).collect(Collectors.toSet());
+	}
+
+	private static final class State {
+
+		private final Map<Long, BitSet> productsByCategory = new HashMap<>();
+		private final Map<Long, Set<Long>> categoriesByProduct = new HashMap<>();
+		private final BitSet categorized = new BitSet();
+
+		private void add(Long productId, Long categoryId) {
+			int bit = Math.toIntExact(productId);
+			productsByCategory.computeIfAbsent(categoryId, key -> new BitSet()).set(bit);
+			categoriesByProduct.computeIfAbsent(productId, key -> new HashSet<>()).add(categoryId);
+			categorized.set(bit);
+		}
+
+		private void removeProduct(Long productId) {
+			Set<Long> categoryIds = categoriesByProduct.remove(productId);
+			if (categoryIds == null) {
+				return;
+			}
+			int bit = Math.toIntExact(productId);
+			categoryIds.forEach(categoryId -> productsByCategory.get(categoryId).clear(bit));
+			categorized.clear(bit);
+		}
+	}
+}
@@ -0,0 +1,306 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Inverted index over {@code Product.name} and {@code Product.description}
+ * ranked with BM25. Name words count {@link #NAME_BOOST} times, so a word in
+ * the name outranks the same word in the description.
+ * <p>
+ * A rebuild loads a new {@link State} without the lock and only takes the
+ * write lock to swap it in, so searches never wait for the database.
+ */
+@Component
+public class FullTextIndex {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int NAME_BOOST = 3;
+
+	@Autowired
+	private ProductRepository repository;
+
+	private volatile State state = new State();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	@PostConstruct
+	public synchronized void rebuild() {
+		State built = new State();
+		repository.findAllTexts().forEach(row -> built.add((Long) row[0], (String) row[1], (String) row[2]));
+		lock.writeLock().lock();
+		try {
+			state = built;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public synchronized void put(Long id, String name, String description) {
+		lock.writeLock().lock();
+		try {
+			state.removeDocument(id);
+			state.add(id, name, description);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public synchronized void remove(Long id) {
+		lock.writeLock().lock();
+		try {
+			state.removeDocument(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * The {@code limit} best scoring products among {@code allowed} (all when
+	 * {@code null}) matching any word of the query. Only a heap of
+	 * {@code limit} entries is kept, the whole match set is never sorted.
+	 */
+	public Result search(String query, BitSet allowed, int limit) {
+		lock.readLock().lock();
+		try {
+			State current = state;
+			Map<String, PostingList> postings = current.postings;
+			Map<Long, Integer> documentLengths = current.documentLengths;
+			Map<Long, Double> scores = new HashMap<>();
+			double averageLength = documentLengths.isEmpty() ? 0 : (double) current.totalLength / documentLengths.size();
+			for (String term : new LinkedHashSet<>(tokenize(query))) {
+				PostingList list = postings.get(term);
+				if (list == null) {
+					continue;
+				}
+				double idf = Math.log(1 + (documentLengths.size() - list.size + 0.5) / (list.size + 0.5));
+				for (int i = 0; i < list.size; i++) {
+					long id = list.ids[i];
+					if (allowed != null && !allowed.get(Math.toIntExact(id))) {
+						continue;
+					}
+					double tf = list.frequencies[i];
+					double norm = K1 * (1 - B + B * documentLengths.get(id) / averageLength);
+					scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+				}
+			}
+
+			PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Math.max(Math.min(limit, scores.size()), 1),
+					FullTextIndex::compare);
+			for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+				if (top.size() < limit) {
+					top.add(entry);
+				} else if (limit > 0 && compare(entry, top.peek()) > 0) {
+					top.poll();
+					top.add(entry);
+				}
+			}
+			List<Long> ids = new ArrayList<>(top.size());
+			while (!top.isEmpty()) {
+				ids.add(top.poll().getKey());
+			}
+			Collections.reverse(ids);
+			return new Result(ids, scores.size());
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return state.documentLengths.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	public int terms() {
+		lock.readLock().lock();
+		try {
+			return state.postings.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Approximate heap bytes held by the index, from the sizes of its arrays,
+	 * strings and map entries.
+	 */
+	public long memoryBytes() {
+		lock.readLock().lock();
+		try {
+			State current = state;
+			long bytes = 0;
+			for (Map.Entry<String, PostingList> entry : current.postings.entrySet()) {
+				bytes += 32 + stringBytes(entry.getKey());
+				bytes += 32 + 16 + 8L * entry.getValue().ids.length + 16 + 4L * entry.getValue().frequencies.length;
+			}
+			for (String[] terms : current.documentTerms.values()) {
+				// Map entries, boxed id and length, and the array of references to interned terms
+				bytes += 32 + 32 + 16 + 16 + 16 + 4L * terms.length;
+			}
+			return bytes;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getType() == ProductChangeEvent.Type.DELETED) {
+			remove(event.getId());
+		} else {
+			put(event.getId(), event.getProduct().getName(), event.getProduct().getDescription());
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		event.getProducts().forEach(product -> put(product.getId(), product.getName(), product.getDescription()));
+		event.getDeletedIds().forEach(this::remove);
+	}
+
+	private static int compare(Map.Entry<Long, Double> a, Map.Entry<Long, Double> b) {
+		int byScore = Double.compare(a.getValue(), b.getValue());
+		// On equal scores the lower id ranks higher
+		return (byScore != 0) ? byScore : Long.compare(b.getKey(), a.getKey());
+	}
+
+	private static long stringBytes(String text) {
+		return 24 + 16 + text.length();
+	}
+
+	private static List<String> tokenize(String text) {
+		if (text == null) {
+			return List.of();
+		}
+		return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")).filter(term -> !term.isEmpty()).toList();
+	}
+
+	public static final class Result {
+
+		private final List<Long> ids;
+		private final int total;
+
+		private Result(List<Long> ids, int total) {
+			this.ids = ids;
+			this.total = total;
+		}
+
+		/**
+		 * Best matches first.
+		 */
+		public List<Long> getIds() {
+			return ids;
+		}
+
+		public int getTotal() {
+			return total;
+		}
+	}
+
+	private static final class State {
+
+		private final Map<String, PostingList> postings = new HashMap<>();
+		private final Map<Long, String[]> documentTerms = new HashMap<>();
+		private final Map<Long, Integer> documentLengths = new HashMap<>();
+		private long totalLength;
+
+		private void add(Long id, String name, String description) {
+			Map<String, Integer> frequencies = new HashMap<>();
+			tokenize(name).forEach(term -> frequencies.merge(term, NAME_BOOST, Integer::sum));
+			tokenize(description).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+			if (frequencies.isEmpty()) {
+				return;
+			}
+			int length = 0;
+			String[] terms = new String[frequencies.size()];
+			int i = 0;
+			for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+				PostingList list = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+				list.add(id, entry.getValue());
+				// Share the posting list's term instead of keeping a copy per document
+				terms[i++] = list.term;
+				length += entry.getValue();
+			}
+			documentTerms.put(id, terms);
+			documentLengths.put(id, length);
+			totalLength += length;
+		}
+
+		private void removeDocument(Long id) {
+			String[] terms = documentTerms.remove(id);
+			if (terms == null) {
+				return;
+			}
+			totalLength -= documentLengths.remove(id);
+			for (String term : terms) {
+				PostingList list = postings.get(term);
+				if (list != null && list.remove(id) && list.size == 0) {
+					postings.remove(term);
+				}
+			}
+		}
+	}
+
+	// Unsorted parallel arrays, grown by doubling; removal moves the last entry into the gap
+	private static final class PostingList {
+
+		private final String term;
+		private long[] ids = new long[4];
+		private int[] frequencies = new int[4];
+		private int size;
+
+		private PostingList(String term) {
+			this.term = term;
+		}
+
+		private void add(long id, int frequency) {
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				frequencies = Arrays.copyOf(frequencies, size * 2);
+			}
+			ids[size] = id;
+			frequencies[size] = frequency;
+			size++;
+		}
+
+		private boolean remove(long id) {
+			for (int i = 0; i < size; i++) {
+				if (ids[i] == id) {
+					size--;
+					ids[i] = ids[size];
+					frequencies[i] = frequencies[size];
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+}
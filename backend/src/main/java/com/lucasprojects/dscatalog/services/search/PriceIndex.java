@@ -0,0 +1,138 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Product prices in a concurrent skip list ordered by (price, id), so a price
+ * range is a seek and a walk over the products in between, and a write
+ * moves one product in logarithmic time. Readers never lock; a range read
+ * while a product moves may miss that product.
+ */
+@Component
+public class PriceIndex {
+
+	@Autowired
+	private ProductRepository repository;
+
+	private volatile NavigableSet<Key> byPrice = new ConcurrentSkipListSet<>();
+
+	// Current key of each product, so a write finds the entry it replaces; only used by writers
+	private volatile Map<Long, Key> keys = new ConcurrentHashMap<>();
+
+	@PostConstruct
+	public synchronized void rebuild() {
+		NavigableSet<Key> prices = new ConcurrentSkipListSet<>();
+		Map<Long, Key> ids = new ConcurrentHashMap<>();
+		for (Object[] row : repository.findAllPrices()) {
+			Key key = new Key((Double) row[1], (Long) row[0]);
+			prices.add(key);
+			ids.put(key.id, key);
+		}
+		byPrice = prices;
+		keys = ids;
+	}
+
+	/**
+	 * Replaces the prices of many products. A {@code null} price removes the
+	 * product.
+	 */
+	public synchronized void putAll(Map<Long, Double> changes) {
+		changes.forEach(this::put);
+	}
+
+	public synchronized void put(Long id, Double price) {
+		if (price == null) {
+			remove(id);
+			return;
+		}
+		Key key = new Key(price, id);
+		Key previous = keys.put(id, key);
+		if (previous != null) {
+			byPrice.remove(previous);
+		}
+		byPrice.add(key);
+	}
+
+	public synchronized void remove(Long id) {
+		Key previous = keys.remove(id);
+		if (previous != null) {
+			byPrice.remove(previous);
+		}
+	}
+
+	/**
+	 * Products priced within {@code [min, max]}; a {@code null} bound is open.
+	 * Products without a price never match.
+	 */
+	public BitSet range(Double min, Double max) {
+		NavigableSet<Key> current = byPrice;
+		if (min != null) {
+			current = current.tailSet(new Key(min, Long.MIN_VALUE), true);
+		}
+		if (max != null) {
+			current = current.headSet(new Key(max, Long.MAX_VALUE), true);
+		}
+		BitSet result = new BitSet();
+		for (Key key : current) {
+			result.set(Math.toIntExact(key.id));
+		}
+		return result;
+	}
+
+	public int size() {
+		return keys.size();
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getType() == ProductChangeEvent.Type.DELETED) {
+			remove(event.getId());
+		} else {
+			put(event.getId(), event.getProduct().getPrice());
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		Map<Long, Double> changes = new HashMap<>();
+		event.getProducts().forEach(product -> changes.put(product.getId(), product.getPrice()));
+		event.getDeletedIds().forEach(id -> changes.put(id, null));
+		putAll(changes);
+	}
+
+	private static final class Key implements Comparable<Key> {
+
+		private final double price;
+		private final long id;
+
+		private Key(double price, long id) {
+			this.price = price;
+			this.id = id;
+		}
+
+		@Override
+		public int compareTo(Key other) {
+			int comparison = Double.compare(price, other.price);
+			return (comparison != 0) ? comparison : Long.compare(id, other.id);
+		}
+	}
+}
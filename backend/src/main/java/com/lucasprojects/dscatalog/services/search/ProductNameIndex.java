@@ -0,0 +1,300 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Trigram inverted index over {@code Product.name}. Answers the same
+ * case-insensitive "contains" question as the LIKE query, but only the
+ * products sharing the rarest trigram of the query are checked.
+ * <p>
+ * The distinct words of the names are indexed by trigram as well, for the
+ * typo-tolerant {@link #fuzzySearch(String)}.
+ * <p>
+ * A rebuild fills a new {@link State} and swaps it in, so searches keep
+ * using the complete previous one meanwhile.
+ */
+@Component
+public class ProductNameIndex {
+
+	private static final int GRAM_SIZE = 3;
+
+	@Autowired
+	private ProductRepository repository;
+
+	private volatile State state = new State();
+
+	@PostConstruct
+	public synchronized void rebuild() {
+		State built = new State();
+		repository.findAllNames().forEach(row -> built.put((Long) row[0], (String) row[1]));
+		state = built;
+	}
+
+	public synchronized void put(Long id, String name) {
+		state.put(id, name);
+	}
+
+	public synchronized void remove(Long id) {
+		state.remove(id);
+	}
+
+	public BitSet search(String query) {
+		State current = state;
+		String normalized = normalize(query);
+		BitSet result = new BitSet();
+		if (normalized.length() < GRAM_SIZE) {
+			current.names.forEach((id, name) -> {
+				if (name.contains(normalized)) {
+					result.set(Math.toIntExact(id));
+				}
+			});
+			return result;
+		}
+
+		Set<Long> candidates = null;
+		for (String gram : grams(normalized)) {
+			Set<Long> ids = current.postings.get(gram);
+			if (ids == null) {
+				return result;
+			}
+			if (candidates == null || ids.size() < candidates.size()) {
+				candidates = ids;
+			}
+		}
+		for (Long id : candidates) {
+			String name = current.names.get(id);
+			if (name != null && name.contains(normalized)) {
+				result.set(Math.toIntExact(id));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Products whose name has, for every word of the query, a word within a
+	 * small edit distance of it (or starting with it), best matches first: by
+	 * total edit distance, then shorter names, then id.
+	 */
+	public List<Long> fuzzySearch(String query) {
+		State current = state;
+		Set<String> terms = words(normalize(query));
+		if (terms.isEmpty()) {
+			return List.of();
+		}
+		Map<Long, Integer> scores = null;
+		for (String term : terms) {
+			Map<Long, Integer> termScores = new HashMap<>();
+			similarWords(current, term).forEach((word, distance) -> {
+				Set<Long> ids = current.wordPostings.get(word);
+				if (ids != null) {
+					ids.forEach(id -> termScores.merge(id, distance, Math::min));
+				}
+			});
+			if (scores == null) {
+				scores = termScores;
+			} else {
+				scores.keySet().retainAll(termScores.keySet());
+				scores.replaceAll((id, score) -> score + termScores.get(id));
+			}
+			if (scores.isEmpty()) {
+				return List.of();
+			}
+		}
+		Map<Long, Integer> ranking = scores;
+		return ranking.keySet().stream()
+				.sorted(Comparator.<Long>comparingInt(ranking::get)
+						.thenComparingInt(id -> current.names.getOrDefault(id, "").length())
+						.thenComparing(Comparator.naturalOrder()))
+				.toList();
+	}
+
+	public int size() {
+		return state.names.size();
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getType() == ProductChangeEvent.Type.DELETED) {
+			remove(event.getId());
+		} else {
+			put(event.getId(), event.getProduct().getName());
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		event.getProducts().forEach(product -> put(product.getId(), product.getName()));
+		event.getDeletedIds().forEach(this::remove);
+	}
+
+	// Words sharing enough trigrams with the term are candidates; each edit breaks at most GRAM_SIZE of them
+	private static Map<String, Integer> similarWords(State current, String term) {
+		int maxDistance = maxDistance(term);
+		Map<String, Integer> shared = new HashMap<>();
+		for (String gram : grams(pad(term))) {
+			Set<String> words = current.wordGrams.get(gram);
+			if (words != null) {
+				words.forEach(word -> shared.merge(word, 1, Integer::sum));
+			}
+		}
+		int threshold = Math.max(1, term.length() - GRAM_SIZE * maxDistance);
+		Map<String, Integer> result = new HashMap<>();
+		shared.forEach((word, count) -> {
+			if (count >= threshold) {
+				int distance = word.startsWith(term) ? 0 : distance(term, word, maxDistance);
+				if (distance <= maxDistance) {
+					result.put(word, distance);
+				}
+			}
+		});
+		return result;
+	}
+
+	private static int maxDistance(String term) {
+		if (term.length() <= 2) {
+			return 0;
+		}
+		return (term.length() <= 5) ? 1 : 2;
+	}
+
+	/**
+	 * Optimal string alignment distance (insertions, deletions, substitutions
+	 * and adjacent transpositions), or {@code max + 1} once it exceeds {@code max}.
+	 */
+	static int distance(String a, String b, int max) {
+		if (Math.abs(a.length() - b.length()) > max) {
+			return max + 1;
+		}
+		int[] previous2 = new int[b.length() + 1];
+		int[] previous = new int[b.length() + 1];
+		int[] current = new int[b.length() + 1];
+		Arrays.setAll(previous, j -> j);
+		for (int i = 1; i <= a.length(); i++) {
+			current[0] = i;
+			int rowMin = i;
+			for (int j = 1; j <= b.length(); j++) {
+				int cost = (a.charAt(i - 1) == b.charAt(j - 1)) ? 0 : 1;
+				current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+				if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+					current[j] = Math.min(current[j], previous2[j - 2] + 1);
+				}
+				rowMin = Math.min(rowMin, current[j]);
+			}
+			if (rowMin > max) {
+				return max + 1;
+			}
+			int[] recycled = previous2;
+			previous2 = previous;
+			previous = current;
+			current = recycled;
+		}
+		return Math.min(previous[b.length()], max + 1);
+	}
+
+	private static String pad(String word) {
+		return "$" + word + "$";
+	}
+
+	private static Set<String> words(String text) {
+		Set<String> words = new LinkedHashSet<>();
+		for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+			if (!word.isEmpty()) {
+				words.add(word);
+			}
+		}
+		return words;
+	}
+
+	private static String normalize(String text) {
+		return text.toLowerCase(Locale.ROOT);
+	}
+
+	private static Set<String> grams(String text) {
+		Set<String> grams = new HashSet<>();
+		for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+			grams.add(text.substring(i, i + GRAM_SIZE));
+		}
+		return grams;
+	}
+
+	// Concurrent maps, since searches read the published state while single products are put or removed
+	private static final class State {
+
+		private final Map<Long, String> names = new ConcurrentHashMap<>();
+		private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+		private final Map<String, Set<Long>> wordPostings = new ConcurrentHashMap<>();
+		private final Map<String, Set<String>> wordGrams = new ConcurrentHashMap<>();
+
+		private void put(Long id, String name) {
+			remove(id);
+			if (name == null) {
+				return;
+			}
+			String normalized = normalize(name);
+			names.put(id, normalized);
+			grams(normalized).forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id));
+			words(normalized).forEach(word -> wordPostings.computeIfAbsent(word, key -> {
+				grams(pad(key)).forEach(gram -> wordGrams.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(key));
+				return ConcurrentHashMap.newKeySet();
+			}).add(id));
+		}
+
+		private void remove(Long id) {
+			String old = names.remove(id);
+			if (old == null) {
+				return;
+			}
+			grams(old).forEach(gram -> {
+				Set<Long> ids = postings.get(gram);
+				if (ids != null) {
+					ids.remove(id);
+					if (ids.isEmpty()) {
+						postings.remove(gram);
+					}
+				}
+			});
+			words(old).forEach(word -> {
+				Set<Long> ids = wordPostings.get(word);
+				if (ids != null) {
+					ids.remove(id);
+					if (ids.isEmpty()) {
+						wordPostings.remove(word);
+						grams(pad(word)).forEach(gram -> {
+							Set<String> words = wordGrams.get(gram);
+							if (words != null) {
+								words.remove(word);
+								if (words.isEmpty()) {
+									wordGrams.remove(gram);
+								}
+							}
+						});
+					}
+				}
+			});
+		}
+	}
+}
@@ -0,0 +1,129 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.lucasprojects.dscatalog.entities.dtos.SuggestionDTO;
+import com.lucasprojects.dscatalog.entities.dtos.SuggestionDTO.Type;
+import com.lucasprojects.dscatalog.repositories.CategoryRepository;
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ChangeListenerOrder;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Product and category names kept sorted by their lowercase form, so the
+ * names starting with a prefix are one contiguous range of the map.
+ */
+@Component
+public class SuggestionIndex {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	private volatile State state = new State();
+
+	// Fills a new state and swaps it in, so suggestions keep using the complete previous one meanwhile
+	@PostConstruct
+	public synchronized void rebuild() {
+		State built = new State();
+		productRepository.findAllNames().forEach(row -> built.put(Type.PRODUCT, (Long) row[0], (String) row[1]));
+		categoryRepository.findAll().forEach(category -> built.put(Type.CATEGORY, category.getId(), category.getName()));
+		state = built;
+	}
+
+	public synchronized void put(Type type, Long id, String name) {
+		state.put(type, id, name);
+	}
+
+	public synchronized void remove(Type type, Long id) {
+		state.remove(type, id);
+	}
+
+	/**
+	 * Up to {@code limit} names starting with {@code prefix}, ignoring case,
+	 * in alphabetical order.
+	 */
+	public List<SuggestionDTO> suggest(String prefix, int limit) {
+		String normalized = normalize(prefix);
+		List<SuggestionDTO> result = new ArrayList<>(limit);
+		for (Map.Entry<String, SuggestionDTO> entry : state.entries.tailMap(normalized).entrySet()) {
+			if (result.size() == limit || !entry.getKey().startsWith(normalized)) {
+				break;
+			}
+			result.add(entry.getValue());
+		}
+		return result;
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		if (event.getType() == ProductChangeEvent.Type.DELETED) {
+			remove(Type.PRODUCT, event.getId());
+		} else {
+			put(Type.PRODUCT, event.getId(), event.getProduct().getName());
+		}
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		event.getProducts().forEach(product -> put(Type.PRODUCT, product.getId(), product.getName()));
+		event.getDeletedIds().forEach(id -> remove(Type.PRODUCT, id));
+	}
+
+	@Order(ChangeListenerOrder.INDEXES)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChange(CategoryChangeEvent event) {
+		if (event.getType() == CategoryChangeEvent.Type.DELETED) {
+			remove(Type.CATEGORY, event.getId());
+		} else {
+			put(Type.CATEGORY, event.getId(), event.getCategory().getName());
+		}
+	}
+
+	private static String normalize(String text) {
+		return text.toLowerCase(Locale.ROOT);
+	}
+
+	private static final class State {
+
+		// Keys are the lowercase name followed by the type and id, which keeps duplicate names apart
+		private final NavigableMap<String, SuggestionDTO> entries = new ConcurrentSkipListMap<>();
+		private final Map<String, String> keys = new ConcurrentHashMap<>();
+
+		private void put(Type type, Long id, String name) {
+			remove(type, id);
+			if (name == null) {
+				return;
+			}
+			String key = normalize(name) + '\0' + type + '\0' + id;
+			entries.put(key, new SuggestionDTO(type, id, name));
+			keys.put(type + ":" + id, key);
+		}
+
+		private void remove(Type type, Long id) {
+			String key = keys.remove(type + ":" + id);
+			if (key != null) {
+				entries.remove(key);
+			}
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package com.lucasprojects.dscatalog.services.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.lucasprojects.dscatalog.entities.dtos.BulkChangeNotificationDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ChangeNotificationDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+
+/**
+ * Pushes committed product and category changes to Server-Sent Events
+ * subscribers. Each subscriber has a bounded queue drained by a small pool,
+ * so a slow consumer never blocks the writer. When its queue is full, the
+ * pending events are dropped for a single {@code overflow} event telling the
+ * consumer to catch up through {@code /products/changes}.
+ * <p>
+ * The number of subscribers is capped, and a subscriber whose send has been
+ * blocked for longer than {@code change-feed.send-timeout} is dropped so no
+ * further events are queued for it. Dropping does not interrupt a send
+ * already blocked on the socket: its sender thread is only released when
+ * the container's write timeout fails the write, so until then each stuck
+ * consumer holds one of the {@code change-feed.sender-threads}.
+ */
+@Component
+public class ChangeFeed {
+
+	@Value("${change-feed.buffer-size}")
+	private int bufferSize;
+
+	@Value("${change-feed.timeout}")
+	private Duration timeout;
+
+	@Value("${change-feed.max-subscribers}")
+	private int maxSubscribers;
+
+	@Value("${change-feed.send-timeout}")
+	private Duration sendTimeout;
+
+	@Autowired
+	@Qualifier("changeFeedExecutor")
+	private TaskExecutor executor;
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+	public SseEmitter subscribe() {
+		return register(new SseEmitter(timeout.toMillis()));
+	}
+
+	public int subscriberCount() {
+		return subscribers.size();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChange(ProductChangeEvent event) {
+		publish("product", new ChangeNotificationDTO<>(event.getType().name(), event.getId(), event.getProduct()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductBulkChange(ProductBulkChangeEvent event) {
+		List<Long> changedIds = event.getProducts().stream().map(ProductDTO::getId).toList();
+		publish("products", new BulkChangeNotificationDTO(event.getCount(), changedIds, event.getDeletedIds()));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onCategoryChange(CategoryChangeEvent event) {
+		publish("category", new ChangeNotificationDTO<>(event.getType().name(), event.getId(), event.getCategory()));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		subscribers.forEach(subscriber -> subscriber.emitter.complete());
+	}
+
+	synchronized SseEmitter register(SseEmitter emitter) {
+		if (subscribers.size() >= maxSubscribers) {
+			throw new TooManySubscribersException("Too many change stream subscribers, retry later");
+		}
+		Subscriber subscriber = new Subscriber(emitter, bufferSize);
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(e -> subscribers.remove(subscriber));
+		subscribers.add(subscriber);
+		return emitter;
+	}
+
+	private void publish(String name, Object data) {
+		Message message = new Message(name, data);
+		long now = System.nanoTime();
+		for (Subscriber subscriber : subscribers) {
+			long sendingSince = subscriber.sendingSince;
+			if (sendingSince != 0 && now - sendingSince >= sendTimeout.toNanos()) {
+				drop(subscriber);
+				continue;
+			}
+			if (!subscriber.queue.offer(message)) {
+				subscriber.queue.clear();
+				subscriber.queue.offer(new Message("overflow", "Events were dropped, resynchronize"));
+			}
+			schedule(subscriber);
+		}
+	}
+
+	private void schedule(Subscriber subscriber) {
+		if (subscriber.draining.compareAndSet(false, true)) {
+			executor.execute(() -> drain(subscriber));
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			Message message;
+			while (!subscriber.dropped && (message = subscriber.queue.poll()) != null) {
+				subscriber.sendingSince = System.nanoTime();
+				subscriber.emitter.send(SseEmitter.event().name(message.name).data(message.data));
+				subscriber.sendingSince = 0;
+			}
+			if (subscriber.dropped) {
+				subscriber.emitter.complete();
+				return;
+			}
+		} catch (IOException | IllegalStateException e) {
+			subscribers.remove(subscriber);
+			subscriber.queue.clear();
+			subscriber.emitter.completeWithError(e);
+			return;
+		} finally {
+			subscriber.draining.set(false);
+		}
+		// An event may have arrived after the last poll but before the flag was reset
+		if (!subscriber.queue.isEmpty()) {
+			schedule(subscriber);
+		}
+	}
+
+	// The emitter methods are synchronized with the blocked send, so the sender completes it once the send returns
+	private void drop(Subscriber subscriber) {
+		subscribers.remove(subscriber);
+		subscriber.dropped = true;
+		subscriber.queue.clear();
+	}
+
+	private static class Subscriber {
+
+		private final SseEmitter emitter;
+		private final Queue<Message> queue;
+		private final AtomicBoolean draining = new AtomicBoolean();
+		private volatile long sendingSince;
+		private volatile boolean dropped;
+
+		private Subscriber(SseEmitter emitter, int bufferSize) {
+			this.emitter = emitter;
+			this.queue = new ArrayBlockingQueue<>(bufferSize);
+		}
+	}
+
+	private static class Message {
+
+		private final String name;
+		private final Object data;
+
+		private Message(String name, Object data) {
+			this.name = name;
+			this.data = data;
+		}
+	}
+}
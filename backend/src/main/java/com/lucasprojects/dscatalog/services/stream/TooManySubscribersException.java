@@ -0,0 +1,9 @@
+package com.lucasprojects.dscatalog.services.stream;
+
+public class TooManySubscribersException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public TooManySubscribersException(String message) {
+		super(message);
+	}
+}
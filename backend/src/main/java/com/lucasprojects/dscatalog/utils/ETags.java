@@ -0,0 +1,58 @@
+package com.lucasprojects.dscatalog.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Conditional requests for content-negotiated responses. A resource has one
+ * representation per media type, so its ETag is suffixed with the media
+ * type the request negotiates and the response varies by {@code Accept}.
+ */
+public final class ETags {
+
+	// In the order of the message converters, which decides ties such as */*
+	private static final List<MediaType> PRODUCIBLE = List.of(MediaType.APPLICATION_JSON,
+			new MediaType("application", "x-jackson-smile"), MediaType.APPLICATION_CBOR);
+
+	private ETags() {
+	}
+
+	/**
+	 * Whether the client already has the representation tagged {@code eTag},
+	 * in which case the response is a 304. A {@code null} tag never matches.
+	 */
+	public static boolean checkNotModified(WebRequest request, String eTag) {
+		if (request instanceof ServletWebRequest servletRequest && servletRequest.getResponse() != null) {
+			servletRequest.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+		}
+		return eTag != null && request.checkNotModified(eTag + "-" + negotiate(request).getSubtype());
+	}
+
+	static MediaType negotiate(WebRequest request) {
+		String[] accept = request.getHeaderValues(HttpHeaders.ACCEPT);
+		if (accept == null) {
+			return PRODUCIBLE.get(0);
+		}
+		List<MediaType> accepted;
+		try {
+			accepted = MediaType.parseMediaTypes(Arrays.asList(accept));
+		} catch (InvalidMediaTypeException e) {
+			return PRODUCIBLE.get(0);
+		}
+		MediaType.sortBySpecificityAndQuality(accepted);
+		for (MediaType type : accepted) {
+			for (MediaType producible : PRODUCIBLE) {
+				if (type.isCompatibleWith(producible)) {
+					return producible;
+				}
+			}
+		}
+		return PRODUCIBLE.get(0);
+	}
+}
@@ -0,0 +1,49 @@
+package com.lucasprojects.dscatalog.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+/**
+ * Sparse fieldsets: the {@code fields} request parameter names the
+ * properties of DTOs annotated with {@code @JsonFilter(FieldSelection.FILTER)}
+ * that are serialized. Other objects in the response are left untouched.
+ */
+public final class FieldSelection {
+
+	public static final String FILTER = "fields";
+
+	private FieldSelection() {
+	}
+
+	/**
+	 * Requested fields, or {@code null} for all of them when {@code fields} is blank.
+	 */
+	public static Set<String> parse(String fields, Set<String> allowed) {
+		if (fields.isBlank()) {
+			return null;
+		}
+		Set<String> selected = Arrays.stream(fields.split(",")).map(String::trim).filter(field -> !field.isEmpty())
+				.collect(Collectors.toCollection(LinkedHashSet::new));
+		for (String field : selected) {
+			if (!allowed.contains(field)) {
+				throw new IllegalArgumentException("Unknown field " + field + ", expected some of " + String.join(", ", allowed));
+			}
+		}
+		return selected;
+	}
+
+	public static MappingJacksonValue apply(Object body, Set<String> fields) {
+		MappingJacksonValue value = new MappingJacksonValue(body);
+		if (fields != null) {
+			value.setFilters(new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields)));
+		}
+		return value;
+	}
+}
@@ -0,0 +1,81 @@
+package com.lucasprojects.dscatalog.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token of a paged product sync. Changed products are
+ * walked first by (last modification, id), then deletions by (deletion
+ * time, id). The token also keeps the {@code since} and {@code syncedAt} of
+ * the first page, so every page of a sync answers the same question.
+ */
+public class ProductChangeCursor {
+
+	private final Instant since;
+	private final Instant syncedAt;
+	private final boolean deletions;
+	private final Instant at;
+	private final Long id;
+
+	private ProductChangeCursor(Instant since, Instant syncedAt, boolean deletions, Instant at, Long id) {
+		this.since = since;
+		this.syncedAt = syncedAt;
+		this.deletions = deletions;
+		this.at = at;
+		this.id = id;
+	}
+
+	// Ids up to the largest one make the first seek start after everything modified exactly at since
+	public static ProductChangeCursor first(Instant since, Instant syncedAt) {
+		return new ProductChangeCursor(since, syncedAt, false, since, Long.MAX_VALUE);
+	}
+
+	public static ProductChangeCursor decode(String token) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(",", 5);
+			return new ProductChangeCursor(Instant.parse(parts[0]), Instant.parse(parts[1]), parts[2].equals("d"),
+					Instant.parse(parts[3]), Long.valueOf(parts[4]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+
+	public ProductChangeCursor afterChange(Instant modifiedAt, Long productId) {
+		return new ProductChangeCursor(since, syncedAt, false, modifiedAt, productId);
+	}
+
+	public ProductChangeCursor firstDeletion() {
+		return new ProductChangeCursor(since, syncedAt, true, since, Long.MAX_VALUE);
+	}
+
+	public ProductChangeCursor afterDeletion(Instant deletedAt, Long productId) {
+		return new ProductChangeCursor(since, syncedAt, true, deletedAt, productId);
+	}
+
+	public String encode() {
+		String raw = since + "," + syncedAt + "," + (deletions ? "d" : "c") + "," + at + "," + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public Instant getSince() {
+		return since;
+	}
+
+	public Instant getSyncedAt() {
+		return syncedAt;
+	}
+
+	public boolean isDeletions() {
+		return deletions;
+	}
+
+	public Instant getAt() {
+		return at;
+	}
+
+	public Long getId() {
+		return id;
+	}
+}
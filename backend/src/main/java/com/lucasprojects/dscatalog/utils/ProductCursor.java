@@ -0,0 +1,121 @@
+package com.lucasprojects.dscatalog.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+import com.lucasprojects.dscatalog.entities.Product;
+
+/**
+ * Opaque keyset cursor for the product listing: the sort property and
+ * direction plus the sort key and id of the last product already returned.
+ */
+public class ProductCursor {
+
+	private static final List<String> SORTABLE = List.of("id", "name", "price", "date");
+
+	private final String property;
+	private final Direction direction;
+	private final Object value;
+	private final Long id;
+
+	private ProductCursor(String property, Direction direction, Object value, Long id) {
+		this.property = property;
+		this.direction = direction;
+		this.value = value;
+		this.id = id;
+	}
+
+	/**
+	 * Cursor before the first product in {@code sort} order. Only a single
+	 * sort property is supported, with the id always breaking ties.
+	 */
+	public static ProductCursor first(Sort sort) {
+		if (sort.stream().count() > 1) {
+			throw new IllegalArgumentException("Cursor pagination sorts by a single property, ties are broken by id");
+		}
+		Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc("id"));
+		if (!SORTABLE.contains(order.getProperty())) {
+			throw new IllegalArgumentException("Cursor pagination can only sort by " + String.join(", ", SORTABLE));
+		}
+		return new ProductCursor(order.getProperty(), order.getDirection(), null, null);
+	}
+
+	public static ProductCursor decode(String token) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			String[] parts = decoded.split(",", 4);
+			String property = parts[0];
+			if (!SORTABLE.contains(property)) {
+				throw new IllegalArgumentException("Invalid cursor");
+			}
+			Object value = (parts.length < 4) ? null : parseValue(property, parts[3]);
+			return new ProductCursor(property, Direction.fromString(parts[1]), value, Long.valueOf(parts[2]));
+		} catch (RuntimeException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+	}
+
+	public ProductCursor after(Product last) {
+		return new ProductCursor(property, direction, valueOf(last), last.getId());
+	}
+
+	public String encode() {
+		String raw = property + "," + direction + "," + id + ((value == null) ? "" : "," + value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public boolean isCompatibleWith(Sort sort) {
+		return sort.isUnsorted() || sort.equals(Sort.by(direction, property));
+	}
+
+	public boolean isFirst() {
+		return id == null;
+	}
+
+	public String getProperty() {
+		return property;
+	}
+
+	public Direction getDirection() {
+		return direction;
+	}
+
+	public Object getValue() {
+		return value;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	private Object valueOf(Product product) {
+		switch (property) {
+		case "name":
+			return product.getName();
+		case "price":
+			return product.getPrice();
+		case "date":
+			return product.getDate();
+		default:
+			return null;
+		}
+	}
+
+	private static Object parseValue(String property, String text) {
+		switch (property) {
+		case "name":
+			return text;
+		case "price":
+			return Double.valueOf(text);
+		case "date":
+			return Instant.parse(text);
+		default:
+			return null;
+		}
+	}
+}
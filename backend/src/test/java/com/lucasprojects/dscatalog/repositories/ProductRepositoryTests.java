@@ -1,6 +1,8 @@
 package com.lucasprojects.dscatalog.repositories;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,8 +10,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
 import com.lucasprojects.dscatalog.tests.Factory;
 
 @DataJpaTest
@@ -78,4 +84,49 @@ public class ProductRepositoryTests {
 		
 		Assertions.assertFalse(result.isPresent());
 	}
+
+	@Test
+	public void findPageShouldMatchAllCategoriesWhenMatchAllIsSet() {
+		ProductFilter filter = new ProductFilter(0L, "");
+		filter.setCategoryIds(List.of(1L, 3L));
+		filter.setMatchAll(true);
+
+		Page<ProductDTO> result = repository.findPage(filter, PageRequest.of(0, 10));
+
+		Assertions.assertEquals(1, result.getTotalElements());
+		Assertions.assertEquals(2, result.getContent().get(0).getCategories().size());
+	}
+
+	@Test
+	public void findPageShouldFilterByPriceWhenBoundsAreGiven() {
+		ProductFilter filter = new ProductFilter(0L, "");
+		filter.setMinPrice(1350.0);
+		filter.setMaxPrice(1700.0);
+
+		Page<ProductDTO> result = repository.findPage(filter, PageRequest.of(0, 10));
+
+		Assertions.assertEquals(8, result.getTotalElements());
+		Assertions.assertTrue(result.getContent().stream().allMatch(dto -> dto.getPrice() >= 1350.0 && dto.getPrice() <= 1700.0));
+	}
+
+	@Test
+	public void findPageShouldSkipDescriptionAndCategoriesWhenNotRequested() {
+		ProductFilter filter = new ProductFilter(0L, "");
+		filter.setFields(Set.of("id", "name", "price"));
+
+		Page<ProductDTO> result = repository.findPage(filter, PageRequest.of(0, 10, Sort.by("name")));
+
+		Assertions.assertEquals(25, result.getTotalElements());
+		Assertions.assertEquals(10, result.getContent().size());
+		Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+		Assertions.assertTrue(result.getContent().stream().allMatch(dto -> dto.getDescription() == null && dto.getCategories().isEmpty()));
+	}
+
+	@Test
+	public void findPageShouldFilterByNameWhenNameIsGiven() {
+		Page<ProductDTO> result = repository.findPage(new ProductFilter(0L, "GAMER"), PageRequest.of(0, 10));
+
+		Assertions.assertEquals(21, result.getTotalElements());
+		Assertions.assertEquals(10, result.getContent().size());
+	}
 }
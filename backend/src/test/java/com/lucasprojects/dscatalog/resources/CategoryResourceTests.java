@@ -1,14 +1,18 @@
 package com.lucasprojects.dscatalog.resources;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -25,6 +29,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -97,6 +102,18 @@ public class CategoryResourceTests {
 		result.andExpect(status().isOk());
 	}
 
+	@Test
+	public void findAllShouldReturnNotModifiedWhenETagMatches() throws Exception {
+		when(service.listingETag()).thenReturn("categories-7");
+
+		ResultActions result = mockMvc.perform(get("/categories").header(HttpHeaders.IF_NONE_MATCH, "\"categories-7-json\"")
+				.accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isNotModified());
+		result.andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+		verify(service, never()).findAll();
+	}
+
 	@Test
 	public void findByIdShouldReturnCategoryWhenIdExists() throws Exception {
 		ResultActions result = mockMvc.perform(get("/categories/{id}", existingId).accept(MediaType.APPLICATION_JSON));
@@ -0,0 +1,98 @@
+package com.lucasprojects.dscatalog.resources;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.tests.Factory;
+
+/**
+ * Compares payload size and encode/decode time of a product page in JSON
+ * and the binary formats offered through content negotiation. Sizes are
+ * asserted; times are only logged since they depend on the machine.
+ */
+public class EncodingComparisonTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(EncodingComparisonTests.class);
+
+	private static final int ITERATIONS = 2000;
+
+	private Map<String, ObjectMapper> mappers;
+	private List<ProductDTO> page;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		mappers = new LinkedHashMap<>();
+		mappers.put("json", builder().build());
+		mappers.put("cbor", builder().factory(new CBORFactory()).build());
+		mappers.put("smile", builder().factory(new SmileFactory()).build());
+
+		page = new ArrayList<>();
+		for (long id = 1; id <= 25; id++) {
+			Product product = Factory.createProduct(id, id % 3 + 1);
+			product.setName("Product " + id);
+			product.setDescription("Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor "
+					+ "incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation.");
+			product.setPrice(100.0 * id + 0.99);
+			page.add(Factory.createProductDTO(product));
+		}
+	}
+
+	@Test
+	public void binaryFormatsShouldBeSmallerThanJsonAndRoundTrip() throws Exception {
+		ObjectMapper json = mappers.get("json");
+		JsonNode expected = json.readTree(json.writeValueAsBytes(page));
+		Map<String, Integer> sizes = new LinkedHashMap<>();
+
+		for (Map.Entry<String, ObjectMapper> entry : mappers.entrySet()) {
+			ObjectMapper mapper = entry.getValue();
+			byte[] payload = mapper.writeValueAsBytes(page);
+			sizes.put(entry.getKey(), payload.length);
+			// Compared after decoding, since CBOR keeps the instants as decimal fractions
+			ProductDTO[] decoded = mapper.readValue(payload, ProductDTO[].class);
+			Assertions.assertEquals(expected, json.readTree(json.writeValueAsBytes(decoded)));
+
+			long encode = time(() -> mapper.writeValueAsBytes(page));
+			long decode = time(() -> mapper.readValue(payload, ProductDTO[].class));
+			logger.info("{}: {} bytes, encode {} us, decode {} us per page", entry.getKey(), payload.length,
+					encode / ITERATIONS / 1000, decode / ITERATIONS / 1000);
+		}
+
+		Assertions.assertTrue(sizes.get("cbor") < sizes.get("json"));
+		Assertions.assertTrue(sizes.get("smile") < sizes.get("json"));
+	}
+
+	private static Jackson2ObjectMapperBuilder builder() {
+		return Jackson2ObjectMapperBuilder.json().filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+	}
+
+	private static long time(Task task) throws Exception {
+		for (int i = 0; i < ITERATIONS / 10; i++) {
+			task.run();
+		}
+		long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			task.run();
+		}
+		return System.nanoTime() - start;
+	}
+
+	private interface Task {
+		void run() throws Exception;
+	}
+}
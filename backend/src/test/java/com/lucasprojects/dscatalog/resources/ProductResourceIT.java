@@ -1,23 +1,41 @@
 package com.lucasprojects.dscatalog.resources;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import javax.transaction.Transactional;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
 import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.services.cache.ProductJsonCache;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.stream.ChangeFeed;
 import com.lucasprojects.dscatalog.tests.Factory;
 import com.lucasprojects.dscatalog.tests.TokenUtil;
 
@@ -35,6 +53,15 @@ public class ProductResourceIT {
 	@Autowired
 	private TokenUtil tokenUtil;
 
+	@Autowired
+	private ProductRepository repository;
+
+	@Autowired
+	private ChangeFeed changeFeed;
+
+	@Autowired
+	private ProductJsonCache jsonCache;
+
 	private ProductDTO dto;
 
 	private String expectedName;
@@ -78,6 +105,358 @@ public class ProductResourceIT {
 		result.andExpect(jsonPath("$.content[2].name").value("PC Gamer Alfa"));
 	}
 
+	@Test
+	public void findAllShouldReturnCompactPageEnvelope() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?page=1&size=12").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.page").value(1));
+		result.andExpect(jsonPath("$.size").value(12));
+		result.andExpect(jsonPath("$.totalElements").value(countTotalProducts));
+		result.andExpect(jsonPath("$.hasNext").value(true));
+		result.andExpect(jsonPath("$.nextCursor").doesNotExist());
+		result.andExpect(jsonPath("$.pageable").doesNotExist());
+		result.andExpect(jsonPath("$.sort").doesNotExist());
+	}
+
+	@Test
+	public void findAllShouldReturnCategoryFacetsWhenFacetsIsTrue() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?facets=true").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.page.totalElements").value(countTotalProducts));
+		result.andExpect(jsonPath("$.facets.length()").value(3));
+		result.andExpect(jsonPath("$.facets[0].name").value("Computadores"));
+		result.andExpect(jsonPath("$.facets[0].count").value(23));
+		result.andExpect(jsonPath("$.facets[1].count").value(2));
+		result.andExpect(jsonPath("$.facets[2].count").value(1));
+	}
+
+	@Test
+	public void findAllShouldCountFacetsForNameOnlyWhenCategoryIsGiven() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products?facets=true&name=macbook&categoryId=1").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.page.content").isEmpty());
+		result.andExpect(jsonPath("$.facets.length()").value(1));
+		result.andExpect(jsonPath("$.facets[0].name").value("Computadores"));
+		result.andExpect(jsonPath("$.facets[0].count").value(1));
+	}
+
+	@Test
+	public void findAllShouldMatchMisspelledNameWhenFuzzyIsTrue() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products?name=macbok pro&fuzzy=true").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.totalElements").value(1));
+		result.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+		result.andExpect(jsonPath("$.content[0].categories").isNotEmpty());
+	}
+
+	@Test
+	public void findAllByIdShouldReturnProductsInRequestOrderAndReportMissingIds() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?ids=3,1000,1").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content.length()").value(2));
+		result.andExpect(jsonPath("$.content[0].id").value(3L));
+		result.andExpect(jsonPath("$.content[1].id").value(1L));
+		result.andExpect(jsonPath("$.content[1].categories").isNotEmpty());
+		result.andExpect(jsonPath("$.missingIds[0]").value(1000L));
+	}
+
+	@Test
+	public void findChangesShouldReturnWholeCatalogForOldTimestamp() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/changes?since=2000-01-01T00:00:00Z").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.changed.length()").value(countTotalProducts));
+		result.andExpect(jsonPath("$.deletedIds").isEmpty());
+		result.andExpect(jsonPath("$.syncedAt").exists());
+		result.andExpect(jsonPath("$.hasMore").value(false));
+	}
+
+	@Test
+	public void findChangesShouldReturnContinuationTokenWhenMoreChangesRemain() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/changes?since=2000-01-01T00:00:00Z&limit=10").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.changed.length()").value(10));
+		result.andExpect(jsonPath("$.hasMore").value(true));
+		result.andExpect(jsonPath("$.nextCursor").isNotEmpty());
+	}
+
+	@Test
+	public void findChangesShouldReturnBadRequestWithoutSinceOrCursor() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products/changes").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void streamShouldPushChangeEventsToSubscribers() throws Exception {
+		MvcResult result = mockMvc.perform(get("/products/stream").accept(MediaType.TEXT_EVENT_STREAM))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		changeFeed.onCategoryChange(CategoryChangeEvent.updated(new CategoryDTO(1L, "Books")));
+
+		String body = "";
+		for (int i = 0; i < 50 && !body.contains("Books"); i++) {
+			Thread.sleep(20);
+			body = result.getResponse().getContentAsString();
+		}
+		Assertions.assertTrue(body.contains("event:category"));
+		Assertions.assertTrue(body.contains("\"name\":\"Books\""));
+	}
+
+	@Test
+	public void streamShouldReturnServiceUnavailableWhenSubscribersAreCapped() throws Exception {
+		Object maxSubscribers = ReflectionTestUtils.getField(changeFeed, "maxSubscribers");
+		ReflectionTestUtils.setField(changeFeed, "maxSubscribers", 0);
+		try {
+			ResultActions result = mockMvc.perform(get("/products/stream").accept(MediaType.TEXT_EVENT_STREAM));
+
+			result.andExpect(status().isServiceUnavailable());
+		} finally {
+			ReflectionTestUtils.setField(changeFeed, "maxSubscribers", maxSubscribers);
+		}
+	}
+
+	@Test
+	public void findAllShouldReturnOnlyRequestedFields() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products?size=5&fields=id,name,price").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.totalElements").value(countTotalProducts));
+		result.andExpect(jsonPath("$.content[0].name").exists());
+		result.andExpect(jsonPath("$.content[0].price").exists());
+		result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+		result.andExpect(jsonPath("$.content[0].categories").doesNotExist());
+	}
+
+	@Test
+	public void findAllAfterShouldReturnOnlyRequestedFields() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products?after=&size=3&fields=id,name").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[0].name").exists());
+		result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+		result.andExpect(jsonPath("$.content[0].categories").doesNotExist());
+		result.andExpect(jsonPath("$.nextCursor").isNotEmpty());
+	}
+
+	@Test
+	public void searchShouldReturnOnlyRequestedFields() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/search?q=macbook&size=5&fields=id,name").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+		result.andExpect(jsonPath("$.content[0].price").doesNotExist());
+		result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+	}
+
+	@Test
+	public void findByIdShouldWriteCachedJsonForUnchangedProduct() throws Exception {
+		String first = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsString();
+		long hits = jsonCache.hits();
+
+		String second = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andReturn().getResponse().getContentAsString();
+
+		Assertions.assertEquals(first, second);
+		Assertions.assertEquals(hits + 1, jsonCache.hits());
+		mockMvc.perform(get("/products/{id}?fields=id", existingId).accept(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.name").doesNotExist());
+	}
+
+	@Test
+	public void findAllShouldEncodeCborWhenAccepted() throws Exception {
+		MvcResult result = mockMvc.perform(get("/products?size=3&fields=id,name").accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_CBOR)).andReturn();
+
+		JsonNode page = new CBORMapper().readTree(result.getResponse().getContentAsByteArray());
+		Assertions.assertEquals(countTotalProducts, page.get("totalElements").asLong());
+		Assertions.assertEquals(3, page.get("content").size());
+		Assertions.assertFalse(page.get("content").get(0).has("description"));
+	}
+
+	@Test
+	public void findByIdShouldReturnBadRequestWhenFieldIsUnknown() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/{id}?fields=id,password", existingId).accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void searchShouldRankNameMatchesAboveDescriptionMatches() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/search?q=lorem macbook&size=5").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.totalElements").value(countTotalProducts));
+		result.andExpect(jsonPath("$.content.length()").value(5));
+		result.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+	}
+
+	@Test
+	public void searchShouldReturnBadRequestWhenPageIsTooDeep() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/search?q=a&page=500000&size=2000").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void exportShouldStreamOneJsonLinePerProduct() throws Exception {
+		jsonCache.clear();
+		MvcResult started = mockMvc.perform(get("/products/export")).andExpect(request().asyncStarted()).andReturn();
+		ResultActions result = mockMvc.perform(asyncDispatch(started));
+
+		result.andExpect(status().isOk());
+		result.andExpect(content().contentType("application/x-ndjson"));
+		String[] lines = result.andReturn().getResponse().getContentAsString().split("\n");
+		Assertions.assertEquals(countTotalProducts, lines.length);
+		ProductDTO first = mapper.readValue(lines[0], ProductDTO.class);
+		Assertions.assertEquals("The Lord of the Rings", first.getName());
+		Assertions.assertEquals(1, first.getCategories().size());
+		Assertions.assertEquals(0, jsonCache.size());
+	}
+
+	@Test
+	public void exportShouldStreamCsvWithHeaderWhenFormatIsCsv() throws Exception {
+		MvcResult started = mockMvc.perform(get("/products/export?format=csv")).andExpect(request().asyncStarted())
+				.andReturn();
+		ResultActions result = mockMvc.perform(asyncDispatch(started));
+
+		result.andExpect(status().isOk());
+		result.andExpect(header().string("Content-Disposition", "attachment; filename=\"products.csv\""));
+		String[] lines = result.andReturn().getResponse().getContentAsString().split("\r\n");
+		Assertions.assertEquals(countTotalProducts + 1, lines.length);
+		Assertions.assertEquals("id,name,description,price,imgUrl,date,categoryIds,categories", lines[0]);
+		Assertions.assertTrue(lines[2].startsWith("2,Smart TV,"));
+		Assertions.assertTrue(lines[2].endsWith(",1;3,Livros;Computadores"));
+	}
+
+	@Test
+	public void exportShouldReturnBadRequestWhenFormatIsUnknown() throws Exception {
+		mockMvc.perform(get("/products/export?format=xml")).andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void suggestShouldReturnNamesStartingWithPrefix() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products/suggest?prefix=pc gamer t&limit=3").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.length()").value(3));
+		result.andExpect(jsonPath("$[0].name").value("PC Gamer Tera"));
+		result.andExpect(jsonPath("$[1].name").value("PC Gamer Tr"));
+		result.andExpect(jsonPath("$[2].name").value("PC Gamer Turbo"));
+	}
+
+	@Test
+	public void suggestShouldIncludeCategoryNames() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products/suggest?prefix=COMP").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$[0].type").value("CATEGORY"));
+		result.andExpect(jsonPath("$[0].name").value("Computadores"));
+	}
+
+	@Test
+	public void findAllAfterShouldSeekPastCursor() throws Exception {
+		ResultActions first = mockMvc
+				.perform(get("/products?after=&size=3&sort=name,asc").accept(MediaType.APPLICATION_JSON));
+
+		first.andExpect(status().isOk());
+		first.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+		first.andExpect(jsonPath("$.content[2].name").value("PC Gamer Alfa"));
+		first.andExpect(jsonPath("$.nextCursor").exists());
+		first.andExpect(jsonPath("$.hasNext").value(true));
+		first.andExpect(jsonPath("$.page").doesNotExist());
+
+		String cursor = mapper.readTree(first.andReturn().getResponse().getContentAsString()).get("nextCursor").asText();
+		ResultActions second = mockMvc
+				.perform(get("/products?size=3&sort=name,asc").param("after", cursor).accept(MediaType.APPLICATION_JSON));
+
+		second.andExpect(status().isOk());
+		second.andExpect(jsonPath("$.content[0].name").value("PC Gamer Boo"));
+		second.andExpect(jsonPath("$.content[1].name").value("PC Gamer Card"));
+		second.andExpect(jsonPath("$.content[2].name").value("PC Gamer Er"));
+	}
+
+	@Test
+	public void findAllAfterShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?after=garbage").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void findAllAfterShouldReturnBadRequestWhenSortHasSeveralProperties() throws Exception {
+		ResultActions result = mockMvc
+				.perform(get("/products?after=&sort=price,asc&sort=name,asc").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isBadRequest());
+		result.andExpect(jsonPath("$.error").value("Cursor pagination sorts by a single property, ties are broken by id"));
+	}
+
+	@Test
+	public void insertAllShouldInsertValidRowsAndReportInvalidOnes() throws Exception {
+		String accessToken = tokenUtil.obtainAccessToken(mockMvc, username, password);
+		String jsonBody = "[{\"name\":\"Bulk Phone\",\"price\":10.0,\"categories\":[{\"id\":2},{\"id\":3}]},"
+				+ "{\"price\":5.0},"
+				+ "{\"name\":\"Bulk Book\",\"categories\":[{\"id\":99}]},"
+				+ "{\"name\":\"Bulk TV\",\"price\":\"cheap\"}]";
+
+		ResultActions result = mockMvc.perform(post("/products/bulk").header("Authorization", "Bearer " + accessToken)
+				.content(jsonBody).contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.inserted").value(1));
+		result.andExpect(jsonPath("$.failed").value(3));
+		result.andExpect(jsonPath("$.errors[0].row").value(2));
+		result.andExpect(jsonPath("$.errors[1].message").value("Unable to find category with id 99"));
+		result.andExpect(jsonPath("$.errors[2].row").value(4));
+		Assertions.assertEquals(countTotalProducts + 1, repository.count());
+		Product inserted = findByName("Bulk Phone");
+		Assertions.assertEquals(2, inserted.getCategories().size());
+	}
+
+	@Test
+	public void insertAllShouldReadCsvInExportLayout() throws Exception {
+		String accessToken = tokenUtil.obtainAccessToken(mockMvc, username, password);
+		String csvBody = "id,name,description,price,imgUrl,date,categoryIds,categories\r\n"
+				+ ",\"Chair, wooden\",\"Says \"\"sit\"\"\",45.5,,2020-07-14T10:00:00Z,1,Livros\r\n"
+				+ ",Lamp,,abc,,,,\r\n";
+
+		ResultActions result = mockMvc.perform(post("/products/bulk").header("Authorization", "Bearer " + accessToken)
+				.content(csvBody).contentType("text/csv").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.inserted").value(1));
+		result.andExpect(jsonPath("$.failed").value(1));
+		result.andExpect(jsonPath("$.errors[0].row").value(2));
+		Product inserted = findByName("Chair, wooden");
+		Assertions.assertEquals("Says \"sit\"", inserted.getDescription());
+		Assertions.assertEquals(1, inserted.getCategories().size());
+	}
+
+	@Test
+	public void insertAllShouldReturnUnauthorizedWhenNoToken() throws Exception {
+		mockMvc.perform(post("/products/bulk").content("[]").contentType(MediaType.APPLICATION_JSON))
+				.andExpect(status().isUnauthorized());
+	}
+
 	@Test
 	public void updateShouldReturnProductDTOWhenIdExists() throws Exception {
 		String accessToken = tokenUtil.obtainAccessToken(mockMvc, username, password);
@@ -94,6 +473,44 @@ public class ProductResourceIT {
 		result.andExpect(jsonPath("$.imgUrl").value(expectedImgUrl));
 	}
 
+	@Test
+	public void findByIdShouldReturnNotModifiedUntilProductChanges() throws Exception {
+		String eTag = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/products/{id}", existingId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+
+		String accessToken = tokenUtil.obtainAccessToken(mockMvc, username, password);
+		mockMvc.perform(put("/products/{id}", existingId).header("Authorization", "Bearer " + accessToken)
+				.content(mapper.writeValueAsString(dto)).contentType(MediaType.APPLICATION_JSON));
+
+		mockMvc.perform(get("/products/{id}", existingId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.name").value(expectedName));
+	}
+
+	@Test
+	public void findAllShouldReturnNotModifiedWhenListingETagMatches() throws Exception {
+		String eTag = mockMvc.perform(get("/products?page=0&size=12").accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/products?page=0&size=12").header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified()).andExpect(content().string(""));
+	}
+
+	@Test
+	public void findByIdShouldTagEachNegotiatedFormatSeparately() throws Exception {
+		MvcResult json = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON))
+				.andExpect(status().isOk()).andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT))).andReturn();
+		String eTag = json.getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/products/{id}", existingId).header(HttpHeaders.IF_NONE_MATCH, eTag)
+				.accept(MediaType.APPLICATION_CBOR))
+				.andExpect(status().isOk()).andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+		mockMvc.perform(get("/products/{id}", existingId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isNotModified());
+	}
+
 	@Test
 	public void updateShouldReturnNotFoundWhenIdDoesNotExists() throws Exception {
 		String accessToken = tokenUtil.obtainAccessToken(mockMvc, username, password);
@@ -104,4 +521,9 @@ public class ProductResourceIT {
 
 		result.andExpect(status().isNotFound());
 	}
+
+	private Product findByName(String name) {
+		Long id = repository.findAll().stream().filter(product -> product.getName().equals(name)).findFirst().get().getId();
+		return repository.findWithCategories(id).get();
+	}
 }
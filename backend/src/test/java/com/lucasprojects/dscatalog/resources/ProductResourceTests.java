@@ -24,6 +24,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
@@ -81,7 +82,8 @@ public class ProductResourceTests {
 		username = "maria@gmail.com";
 		password = "123456";
 
-		when(service.findAll(any(), any(), any())).thenReturn(page);
+		when(service.findAll(any(), any())).thenReturn(page);
+		when(service.findSlice(any(), any())).thenReturn(new SliceImpl<>(List.of(dto)));
 
 		when(service.findById(existingId)).thenReturn(dto);
 		when(service.findById(nonExistingId)).thenThrow(EntityNotFoundException.class);
@@ -106,6 +108,22 @@ public class ProductResourceTests {
 		result.andExpect(status().isOk());
 	}
 
+	@Test
+	public void findAllShouldReturnBadRequestWhenMatchIsInvalid() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?categoryIds=1,2&match=some").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isBadRequest());
+	}
+
+	@Test
+	public void findAllShouldReturnSliceWithoutTotalWhenWithTotalIsFalse() throws Exception {
+		ResultActions result = mockMvc.perform(get("/products?withTotal=false").accept(MediaType.APPLICATION_JSON));
+
+		result.andExpect(status().isOk());
+		result.andExpect(jsonPath("$.content").exists());
+		result.andExpect(jsonPath("$.totalElements").doesNotExist());
+	}
+
 	@Test
 	public void findByIdShouldReturnProductWhenIdExists() throws Exception {
 		ResultActions result = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON));
@@ -14,6 +14,7 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Sort;
@@ -32,6 +33,9 @@ public class CategoryServiceTests {
 	
 	@Mock
 	private CategoryRepository repository;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
 	
 	private long existingId;
 	private long nonExistingId;
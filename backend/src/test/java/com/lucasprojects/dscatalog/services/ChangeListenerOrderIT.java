@@ -0,0 +1,84 @@
+package com.lucasprojects.dscatalog.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.cache.CatalogVersions;
+import com.lucasprojects.dscatalog.services.cache.ProductQueryCache;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+import com.lucasprojects.dscatalog.services.search.ProductNameIndex;
+
+/**
+ * Not transactional, so the change listeners run after a real commit. The
+ * listeners record what the index answers at the moment each cache is
+ * invalidated or the listing version is bumped.
+ */
+@SpringBootTest
+public class ChangeListenerOrderIT {
+
+	private static final String PROBE = "Ordering probe";
+
+	@Autowired
+	private ProductService service;
+
+	@Autowired
+	private ProductNameIndex nameIndex;
+
+	@SpyBean
+	private ProductQueryCache queryCache;
+
+	@SpyBean
+	private CatalogVersions versions;
+
+	private Long existingId;
+	private String originalName;
+	private List<String> indexedWhenInvalidated;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		existingId = 1L;
+		originalName = service.findById(existingId).getName();
+		indexedWhenInvalidated = new ArrayList<>();
+
+		Mockito.doAnswer(invocation -> {
+			ProductChangeEvent event = invocation.getArgument(0);
+			indexedWhenInvalidated.add("queryCache:" + nameIndex.search(PROBE).get(Math.toIntExact(event.getId())));
+			return invocation.callRealMethod();
+		}).when(queryCache).onProductChange(ArgumentMatchers.any());
+		Mockito.doAnswer(invocation -> {
+			ProductChangeEvent event = invocation.getArgument(0);
+			indexedWhenInvalidated.add("versions:" + nameIndex.search(PROBE).get(Math.toIntExact(event.getId())));
+			return invocation.callRealMethod();
+		}).when(versions).onProductChange(ArgumentMatchers.any());
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		rename(originalName);
+	}
+
+	@Test
+	public void cachesShouldBeInvalidatedAfterIndexesApplyTheChange() {
+		rename(PROBE);
+
+		Assertions.assertEquals(2, indexedWhenInvalidated.size());
+		Assertions.assertTrue(indexedWhenInvalidated.containsAll(List.of("queryCache:true", "versions:true")));
+	}
+
+	private void rename(String name) {
+		ProductDTO dto = service.findById(existingId);
+		dto.setName(name);
+		service.update(existingId, dto);
+	}
+}
@@ -0,0 +1,123 @@
+package com.lucasprojects.dscatalog.services;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.entities.dtos.RoleDTO;
+import com.lucasprojects.dscatalog.entities.dtos.UserDTO;
+
+/**
+ * Counts the statements of product and user updates, which should only
+ * touch the join table rows that actually change.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+public class JoinTableUpdateIT {
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private UserService userService;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Statistics statistics;
+
+	// Product 2 is in categories 1 and 3, user 2 has roles 1 and 2
+	private Long productId;
+	private Long userId;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		productId = 2L;
+		userId = 2L;
+	}
+
+	@Test
+	public void updateShouldNotTouchCategoriesWhenUnchanged() {
+		ProductDTO dto = productService.findById(productId);
+
+		// Product and categories selects, product update
+		Assertions.assertEquals(3, productStatements(dto));
+	}
+
+	@Test
+	public void updateShouldInsertOnlyAddedCategory() {
+		ProductDTO dto = productService.findById(productId);
+		dto.getCategories().add(new CategoryDTO(2L, null));
+
+		// Plus the added category select and one join row insert
+		Assertions.assertEquals(5, productStatements(dto));
+	}
+
+	@Test
+	public void updateShouldDeleteOnlyRemovedCategory() {
+		ProductDTO dto = productService.findById(productId);
+		dto.getCategories().removeIf(category -> category.getId() == 3L);
+
+		// Plus one join row delete
+		Assertions.assertEquals(4, productStatements(dto));
+	}
+
+	@Test
+	public void updateShouldNotTouchRolesWhenUnchanged() {
+		UserDTO dto = userService.findById(userId);
+
+		// User select with its roles, nothing to write
+		Assertions.assertEquals(1, userStatements(dto));
+	}
+
+	@Test
+	public void updateShouldInsertOnlyAddedRole() {
+		UserDTO dto = userService.findById(1L);
+		dto.getRoles().add(new RoleDTO(2L, null));
+
+		// Plus the added role select and one join row insert
+		Assertions.assertEquals(3, userStatements(dto, 1L));
+	}
+
+	@Test
+	public void updateShouldDeleteOnlyRemovedRole() {
+		UserDTO dto = userService.findById(userId);
+		dto.getRoles().removeIf(role -> role.getId() == 2L);
+
+		// Plus one join row delete
+		Assertions.assertEquals(2, userStatements(dto));
+	}
+
+	private long productStatements(ProductDTO dto) {
+		return count(() -> productService.update(productId, dto));
+	}
+
+	private long userStatements(UserDTO dto) {
+		return userStatements(dto, userId);
+	}
+
+	private long userStatements(UserDTO dto, Long id) {
+		return count(() -> userService.update(id, dto));
+	}
+
+	// Starts from an empty persistence context and flushes, so loads and writes are all counted
+	private long count(Runnable update) {
+		entityManager.flush();
+		entityManager.clear();
+		statistics.clear();
+		update.run();
+		entityManager.flush();
+		return statistics.getPrepareStatementCount();
+	}
+}
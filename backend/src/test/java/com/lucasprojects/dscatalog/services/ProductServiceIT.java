@@ -1,5 +1,12 @@
 package com.lucasprojects.dscatalog.services;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import javax.persistence.EntityNotFoundException;
 
 import org.junit.jupiter.api.Assertions;
@@ -13,7 +20,16 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.lucasprojects.dscatalog.entities.Category;
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.BulkResultDTO;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.PageDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductBatchDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductBulkUpdateDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductChangesDTO;
 import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
 import com.lucasprojects.dscatalog.repositories.ProductRepository;
 
 @SpringBootTest
@@ -64,6 +80,78 @@ public class ProductServiceIT {
 		Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
 	}
 	
+	@Test
+	public void findAllPagedShouldReturnMatchingProductsWhenNameIsGiven() {
+		Pageable pageable = PageRequest.of(0, 10, Sort.by("name"));
+
+		Page<ProductDTO> result = service.findAll(0L, "gamer", pageable);
+
+		Assertions.assertEquals(21, result.getTotalElements());
+		Assertions.assertEquals("PC Gamer", result.getContent().get(0).getName());
+	}
+
+	@Test
+	public void findAllPagedShouldReturnProductsInPriceRangeWhenBoundsAreGiven() {
+		ProductFilter filter = new ProductFilter(0L, "gamer");
+		filter.setMinPrice(1350.0);
+		filter.setMaxPrice(1700.0);
+
+		Page<ProductDTO> result = service.findAll(filter, PageRequest.of(0, 10, Sort.by("price")));
+
+		Assertions.assertEquals(8, result.getTotalElements());
+		Assertions.assertEquals(1350.0, result.getContent().get(0).getPrice());
+		Assertions.assertEquals(1700.0, result.getContent().get(7).getPrice());
+	}
+
+	@Test
+	public void findFuzzyShouldRankTypoMatchesAndPage() {
+		ProductFilter filter = new ProductFilter(0L, "gamre");
+
+		Page<ProductDTO> result = service.findFuzzy(filter, PageRequest.of(1, 5));
+
+		Assertions.assertEquals(21, result.getTotalElements());
+		Assertions.assertEquals(5, result.getContent().size());
+		Assertions.assertTrue(result.getContent().stream().allMatch(dto -> dto.getName().startsWith("PC Gamer")));
+	}
+
+	@Test
+	public void findFuzzyShouldOnlyLoadRequestedFields() {
+		ProductFilter filter = new ProductFilter(0L, "gamre");
+		filter.setFields(Set.of("id", "name"));
+
+		Page<ProductDTO> result = service.findFuzzy(filter, PageRequest.of(0, 5));
+
+		Assertions.assertEquals(5, result.getContent().size());
+		Assertions.assertTrue(result.getContent().stream().allMatch(dto -> dto.getDescription() == null));
+		Assertions.assertTrue(result.getContent().stream().allMatch(dto -> dto.getCategories().isEmpty()));
+	}
+
+	@Test
+	public void findAllPagedShouldReturnProductsWithAllCategoriesWhenCategoryIsGiven() {
+		Pageable pageable = PageRequest.of(0, 10);
+
+		Page<ProductDTO> result = service.findAll(1L, "", pageable);
+
+		Assertions.assertEquals(1, result.getTotalElements());
+		Assertions.assertEquals("Smart TV", result.getContent().get(0).getName());
+		Assertions.assertEquals(2, result.getContent().get(0).getCategories().size());
+	}
+
+	@Test
+	public void findAllPagedShouldIntersectCategoriesWhenMatchIsAll() {
+		Pageable pageable = PageRequest.of(0, 10);
+		ProductFilter filter = new ProductFilter(0L, "");
+		filter.setCategoryIds(List.of(1L, 3L));
+
+		Assertions.assertEquals(23, service.findAll(filter, pageable).getTotalElements());
+
+		filter.setMatchAll(true);
+		Page<ProductDTO> result = service.findAll(filter, pageable);
+
+		Assertions.assertEquals(1, result.getTotalElements());
+		Assertions.assertEquals("Smart TV", result.getContent().get(0).getName());
+	}
+
 	@Test
 	public void findAllPagedShouldReturnEmptyPageWhenPageDoesNotExist() {
 		Pageable pageable = PageRequest.of(50, 10);
@@ -71,8 +159,51 @@ public class ProductServiceIT {
 		Page<ProductDTO> result = service.findAll(0L, "", pageable);
 		
 		Assertions.assertTrue(result.isEmpty());
+		Assertions.assertEquals(countTotalProducts, result.getTotalElements());
 	}
 	
+	@Test
+	public void findAllAfterShouldVisitEveryProductOnceInSortOrder() {
+		Sort sort = Sort.by(Sort.Direction.DESC, "price");
+		Set<Long> visited = new HashSet<>();
+		double lastPrice = Double.MAX_VALUE;
+		String after = "";
+
+		do {
+			PageDTO<ProductDTO> result = service.findAllAfter(new ProductFilter(0L, ""), after, sort, 4);
+			for (ProductDTO dto : result.getContent()) {
+				Assertions.assertTrue(dto.getPrice() <= lastPrice);
+				Assertions.assertTrue(visited.add(dto.getId()));
+				lastPrice = dto.getPrice();
+			}
+			after = result.getNextCursor();
+		} while (after != null);
+
+		Assertions.assertEquals(countTotalProducts, visited.size());
+	}
+
+	@Test
+	public void findAllAfterShouldVisitProductsWithoutSortKeyLast() {
+		for (Long id : List.of(3L, 5L, 8L)) {
+			Product product = repository.findById(id).get();
+			product.setPrice(null);
+			repository.saveAndFlush(product);
+		}
+		Sort sort = Sort.by(Sort.Direction.ASC, "price");
+		List<Long> visited = new ArrayList<>();
+		String after = "";
+
+		do {
+			PageDTO<ProductDTO> result = service.findAllAfter(new ProductFilter(0L, ""), after, sort, 4);
+			result.getContent().forEach(dto -> visited.add(dto.getId()));
+			after = result.getNextCursor();
+		} while (after != null);
+
+		Assertions.assertEquals(countTotalProducts, visited.size());
+		Assertions.assertEquals(countTotalProducts, new HashSet<>(visited).size());
+		Assertions.assertEquals(List.of(3L, 5L, 8L), visited.subList(visited.size() - 3, visited.size()));
+	}
+
 	@Test
 	public void deleteShouldDeleteResourceWhenIdExists() {
 		service.delete(existingId);
@@ -80,6 +211,127 @@ public class ProductServiceIT {
 		Assertions.assertEquals(countTotalProducts - 1, repository.count());
 	}
 	
+	@Test
+	public void updateAllShouldChangeOnlyMatchingProducts() {
+		ProductBulkUpdateDTO changes = new ProductBulkUpdateDTO();
+		changes.setPriceMultiplier(2.0);
+		changes.getAddCategoryIds().add(2L);
+		changes.getRemoveCategoryIds().add(1L);
+
+		BulkResultDTO result = service.updateAll(new ProductFilter(1L, ""), changes);
+
+		Assertions.assertEquals(1L, result.getAffected());
+		Product smartTv = repository.findWithCategories(2L).get();
+		Assertions.assertEquals(4380.0, smartTv.getPrice());
+		Assertions.assertNotNull(smartTv.getUpdatedAt());
+		Assertions.assertEquals(Set.of(2L, 3L), smartTv.getCategories().stream().map(Category::getId).collect(Collectors.toSet()));
+		Assertions.assertEquals(1250.0, repository.findById(3L).get().getPrice());
+	}
+
+	@Test
+	public void updateShouldReportAllUnknownCategoriesTogether() {
+		ProductDTO dto = service.findById(existingId);
+		dto.getCategories().add(new CategoryDTO(nonExistingId, null));
+		dto.getCategories().add(new CategoryDTO(nonExistingId + 1, null));
+
+		EntityNotFoundException e = Assertions.assertThrows(EntityNotFoundException.class, () -> {
+			service.update(existingId, dto);
+		});
+
+		Assertions.assertEquals("Unable to find categories with ids 1000, 1001", e.getMessage());
+	}
+
+	@Test
+	public void updateAllShouldThrowEntityNotFoundExceptionWhenCategoryDoesNotExist() {
+		ProductBulkUpdateDTO changes = new ProductBulkUpdateDTO();
+		changes.getAddCategoryIds().add(nonExistingId);
+
+		Assertions.assertThrows(EntityNotFoundException.class, () -> {
+			service.updateAll(new ProductFilter(1L, ""), changes);
+		});
+	}
+
+	@Test
+	public void updateAllShouldThrowIllegalArgumentExceptionWhenNothingToUpdate() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			service.updateAll(new ProductFilter(1L, ""), new ProductBulkUpdateDTO());
+		});
+	}
+
+	@Test
+	public void deleteAllShouldDeleteExistingProductsAndCountThem() {
+		BulkResultDTO result = service.deleteAll(List.of(existingId, 2L, existingId, nonExistingId));
+
+		Assertions.assertEquals(2L, result.getAffected());
+		Assertions.assertEquals(countTotalProducts - 2, repository.count());
+	}
+
+	@Test
+	public void findAllByIdShouldKeepRequestOrderAndDuplicates() {
+		ProductBatchDTO batch = service.findAllById(List.of(2L, nonExistingId, existingId, 2L));
+
+		Assertions.assertEquals(List.of(2L, existingId, 2L), batch.getContent().stream().map(ProductDTO::getId).toList());
+		Assertions.assertEquals(List.of(nonExistingId), batch.getMissingIds());
+		Assertions.assertEquals(2, batch.getContent().get(0).getCategories().size());
+	}
+
+	@Test
+	public void findChangesSinceShouldReturnUpdatedProductsAndDeletedIds() {
+		Instant since = Instant.now();
+		ProductDTO dto = service.findById(existingId);
+		dto.setName("Updated");
+		service.update(existingId, dto);
+		service.delete(2L);
+		service.deleteAll(List.of(3L));
+
+		ProductChangesDTO changes = service.findChangesSince(since, "", 10);
+
+		Assertions.assertEquals(List.of(existingId), changes.getChanged().stream().map(ProductDTO::getId).toList());
+		Assertions.assertEquals("Updated", changes.getChanged().get(0).getName());
+		Assertions.assertEquals(List.of(2L, 3L), changes.getDeletedIds());
+		Assertions.assertFalse(changes.getSyncedAt().isBefore(since));
+		Assertions.assertFalse(changes.isHasMore());
+		Assertions.assertNull(changes.getNextCursor());
+	}
+
+	@Test
+	public void findChangesSinceShouldPageChangesThenDeletions() {
+		Instant since = Instant.now();
+		for (long id = 1L; id <= 3L; id++) {
+			ProductDTO dto = service.findById(id);
+			dto.setName("Updated " + id);
+			service.update(id, dto);
+		}
+		service.deleteAll(List.of(4L, 5L));
+
+		List<Long> changed = new ArrayList<>();
+		List<Long> deleted = new ArrayList<>();
+		Set<Instant> syncedAt = new HashSet<>();
+		int pages = 0;
+		String after = "";
+		do {
+			ProductChangesDTO page = service.findChangesSince(after.isEmpty() ? since : null, after, 2);
+			Assertions.assertTrue(page.getChanged().size() + page.getDeletedIds().size() <= 2);
+			page.getChanged().forEach(dto -> changed.add(dto.getId()));
+			deleted.addAll(page.getDeletedIds());
+			syncedAt.add(page.getSyncedAt());
+			after = page.isHasMore() ? page.getNextCursor() : "";
+			pages++;
+		} while (!after.isEmpty());
+
+		Assertions.assertEquals(3, pages);
+		Assertions.assertEquals(List.of(1L, 2L, 3L), changed.stream().sorted().toList());
+		Assertions.assertEquals(List.of(4L, 5L), deleted);
+		Assertions.assertEquals(1, syncedAt.size());
+	}
+
+	@Test
+	public void findChangesSinceShouldThrowIllegalArgumentExceptionWhenCursorIsInvalid() {
+		Assertions.assertThrows(IllegalArgumentException.class, () -> {
+			service.findChangesSince(null, "not-a-cursor", 2);
+		});
+	}
+
 	@Test
 	public void deleteShouldThrowEntityNotFoundExceptionWhenIdDoesNotExist() {		
 		Assertions.assertThrows(EntityNotFoundException.class, () -> {
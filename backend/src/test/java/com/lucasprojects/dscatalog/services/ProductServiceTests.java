@@ -1,7 +1,9 @@
 package com.lucasprojects.dscatalog.services;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.persistence.EntityNotFoundException;
 
@@ -13,19 +15,32 @@ import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import com.lucasprojects.dscatalog.entities.Category;
 import com.lucasprojects.dscatalog.entities.Product;
 import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
 import com.lucasprojects.dscatalog.repositories.CategoryRepository;
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
 import com.lucasprojects.dscatalog.repositories.ProductRepository;
+import com.lucasprojects.dscatalog.repositories.ProductTombstoneRepository;
+import com.lucasprojects.dscatalog.services.cache.CountCache;
+import com.lucasprojects.dscatalog.services.cache.ProductQueryCache;
+import com.lucasprojects.dscatalog.services.cache.ProductViewCache;
+import com.lucasprojects.dscatalog.services.search.CategoryIndex;
+import com.lucasprojects.dscatalog.services.search.FullTextIndex;
+import com.lucasprojects.dscatalog.services.search.PriceIndex;
+import com.lucasprojects.dscatalog.services.search.ProductNameIndex;
+import com.lucasprojects.dscatalog.services.search.SuggestionIndex;
 import com.lucasprojects.dscatalog.tests.Factory;
 
 @ExtendWith(SpringExtension.class)
@@ -40,6 +55,36 @@ public class ProductServiceTests {
 	@Mock
 	private CategoryRepository categoryRepository;
 
+	@Mock
+	private ProductNameIndex nameIndex;
+
+	@Mock
+	private CategoryIndex categoryIndex;
+
+	@Mock
+	private PriceIndex priceIndex;
+
+	@Mock
+	private SuggestionIndex suggestionIndex;
+
+	@Mock
+	private FullTextIndex fullTextIndex;
+
+	@Mock
+	private ProductTombstoneRepository tombstoneRepository;
+
+	@Mock
+	private CountCache countCache;
+
+	@Mock
+	private ProductQueryCache queryCache;
+
+	@Mock
+	private ProductViewCache viewCache;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
 	private long existingId;
 	private long nonExistingId;
 	private long dependentId;
@@ -67,16 +112,24 @@ public class ProductServiceTests {
 		dtoWithInvalidCategory = Factory.createProductDTO(entityWithInvalidCategory);
 
 		Mockito.when(repository.findAll((Pageable) ArgumentMatchers.any())).thenReturn(page);
-		Mockito.when(repository.find(ArgumentMatchers.any(), ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(page);
+		Mockito.when(repository.findPage(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(new PageImpl<>(List.of(dto)));
+		Mockito.when(repository.findSlice(ArgumentMatchers.any(), ArgumentMatchers.any())).thenReturn(new SliceImpl<>(List.of(dto)));
+		Mockito.when(countCache.get(ArgumentMatchers.any())).thenReturn(null);
 
-		Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(entity));
-		Mockito.when(repository.findById(nonExistingId)).thenReturn(Optional.empty());
+		BitSet categorized = new BitSet();
+		categorized.set((int) existingId);
+		Mockito.when(categoryIndex.categorized()).thenReturn(categorized);
+		Mockito.when(categoryIndex.match(List.of(existingId), false)).thenReturn((BitSet) categorized.clone());
+		Mockito.when(categoryIndex.match(List.of(existingId, nonExistingId), true)).thenReturn(new BitSet());
+
+		Mockito.when(repository.findWithCategories(existingId)).thenReturn(Optional.of(entity));
+		Mockito.when(repository.findWithCategories(nonExistingId)).thenReturn(Optional.empty());
 
 		Mockito.when(repository.getReferenceById(existingId)).thenReturn(entity);
 		Mockito.when(repository.getReferenceById(nonExistingId)).thenThrow(EntityNotFoundException.class);
 
-		Mockito.when(categoryRepository.getReferenceById(existingId)).thenReturn(category);
-		Mockito.when(categoryRepository.getReferenceById(nonExistingId)).thenThrow(EntityNotFoundException.class);
+		Mockito.when(categoryRepository.findAllById(Set.of(existingId))).thenReturn(List.of(category));
+		Mockito.when(categoryRepository.findAllById(Set.of(nonExistingId))).thenReturn(List.of());
 
 		Mockito.when(repository.save((Product) ArgumentMatchers.any())).thenReturn(entity);
 
@@ -92,7 +145,102 @@ public class ProductServiceTests {
 		Page<ProductDTO> result = service.findAll(0L, "", pageable);
 
 		Assertions.assertNotNull(result);
-		Mockito.verify(repository, Mockito.times(1)).find(null, "", pageable);
+		Mockito.verify(repository, Mockito.times(1)).findPage(new ProductFilter(0L, ""), pageable);
+	}
+
+	@Test
+	public void findAllPagedShouldSkipCountWhenTotalIsCached() {
+		Pageable pageable = PageRequest.of(0, 10);
+		Mockito.when(countCache.get(new ProductFilter(0L, ""))).thenReturn(25L);
+
+		Page<ProductDTO> result = service.findAll(0L, "", pageable);
+
+		Assertions.assertEquals(25L, result.getTotalElements());
+		Mockito.verify(repository, Mockito.never()).findPage(ArgumentMatchers.any(), ArgumentMatchers.any());
+		Mockito.verify(repository, Mockito.times(1)).findSlice(new ProductFilter(0L, ""), pageable);
+	}
+
+	@Test
+	public void findAllPagedShouldNotQueryWhenPageIsCached() {
+		Pageable pageable = PageRequest.of(0, 10);
+		Page<ProductDTO> cached = new PageImpl<>(List.of(dto));
+		Mockito.when(queryCache.get(new ProductFilter(0L, ""), pageable)).thenReturn(cached);
+
+		Page<ProductDTO> result = service.findAll(0L, "", pageable);
+
+		Assertions.assertSame(cached, result);
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	@Test
+	public void findAllPagedShouldCachePageWithVersionTakenBeforeQuery() {
+		Pageable pageable = PageRequest.of(0, 10);
+		Mockito.when(queryCache.version()).thenReturn(7L);
+
+		Page<ProductDTO> result = service.findAll(0L, "", pageable);
+
+		Mockito.verify(queryCache).put(new ProductFilter(0L, ""), pageable, result, 7L);
+	}
+
+	@Test
+	public void findSliceShouldNotCount() {
+		Pageable pageable = PageRequest.of(0, 10);
+
+		Slice<ProductDTO> result = service.findSlice(new ProductFilter(0L, ""), pageable);
+
+		Assertions.assertFalse(result.isEmpty());
+		Mockito.verify(repository, Mockito.never()).findPage(ArgumentMatchers.any(), ArgumentMatchers.any());
+		Mockito.verifyNoInteractions(countCache);
+	}
+
+	@Test
+	public void findAllPagedShouldReturnEmptyPageWithoutQueryWhenNameHasNoMatches() {
+		Pageable pageable = PageRequest.of(0, 10);
+		Mockito.when(nameIndex.search("xyz")).thenReturn(new BitSet());
+
+		Page<ProductDTO> result = service.findAll(0L, "xyz", pageable);
+
+		Assertions.assertTrue(result.isEmpty());
+		Mockito.verifyNoInteractions(repository);
+	}
+
+	@Test
+	public void findAllPagedShouldQueryByIdsWhenNameMatches() {
+		Pageable pageable = PageRequest.of(0, 10);
+		BitSet ids = new BitSet();
+		ids.set((int) existingId);
+		Mockito.when(nameIndex.search("phone")).thenReturn(ids);
+		ProductFilter filter = new ProductFilter(0L, null);
+		filter.setIds(List.of(existingId));
+
+		Page<ProductDTO> result = service.findAll(0L, "phone", pageable);
+
+		Assertions.assertNotNull(result);
+		Mockito.verify(repository, Mockito.times(1)).findPage(filter, pageable);
+	}
+
+	@Test
+	public void findAllPagedShouldQueryByIdsWhenCategoryMatches() {
+		Pageable pageable = PageRequest.of(0, 10);
+		ProductFilter filter = new ProductFilter(0L, null);
+		filter.setIds(List.of(existingId));
+
+		service.findAll(existingId, "", pageable);
+
+		Mockito.verify(repository, Mockito.times(1)).findPage(filter, pageable);
+	}
+
+	@Test
+	public void findAllPagedShouldReturnEmptyPageWithoutQueryWhenCategoriesDoNotIntersect() {
+		Pageable pageable = PageRequest.of(0, 10);
+		ProductFilter query = new ProductFilter(0L, "");
+		query.setCategoryIds(List.of(existingId, nonExistingId));
+		query.setMatchAll(true);
+
+		Page<ProductDTO> result = service.findAll(query, pageable);
+
+		Assertions.assertTrue(result.isEmpty());
+		Mockito.verifyNoInteractions(repository);
 	}
 
 	@Test
@@ -100,7 +248,18 @@ public class ProductServiceTests {
 		ProductDTO dto = service.findById(existingId);
 
 		Assertions.assertNotNull(dto);
-		Mockito.verify(repository, Mockito.times(1)).findById(existingId);
+		Mockito.verify(repository, Mockito.times(1)).findWithCategories(existingId);
+		Mockito.verify(viewCache).put(dto, 0L);
+	}
+
+	@Test
+	public void findByIdShouldReturnCachedViewWithoutQuerying() {
+		Mockito.when(viewCache.get(existingId)).thenReturn(this.dto);
+
+		ProductDTO dto = service.findById(existingId);
+
+		Assertions.assertSame(this.dto, dto);
+		Mockito.verifyNoInteractions(repository);
 	}
 
 	@Test
@@ -109,7 +268,7 @@ public class ProductServiceTests {
 			service.findById(nonExistingId);
 		});
 
-		Mockito.verify(repository, Mockito.times(1)).findById(nonExistingId);
+		Mockito.verify(repository, Mockito.times(1)).findWithCategories(nonExistingId);
 	}
 
 	@Test
@@ -118,7 +277,7 @@ public class ProductServiceTests {
 
 		Assertions.assertNotNull(result);
 
-		Mockito.verify(categoryRepository, Mockito.times(1)).getReferenceById(existingId);
+		Mockito.verify(categoryRepository, Mockito.times(1)).findAllById(Set.of(existingId));
 		Mockito.verify(repository, Mockito.times(1)).save(Factory.createProduct(null, existingId));
 	}
 
@@ -128,7 +287,7 @@ public class ProductServiceTests {
 			service.insert(dtoWithInvalidCategory);
 		});
 
-		Mockito.verify(categoryRepository, Mockito.times(1)).getReferenceById(nonExistingId);
+		Mockito.verify(categoryRepository, Mockito.times(1)).findAllById(Set.of(nonExistingId));
 	}
 
 	@Test
@@ -138,7 +297,7 @@ public class ProductServiceTests {
 		Assertions.assertNotNull(result);
 
 		Mockito.verify(repository, Mockito.times(1)).getReferenceById(existingId);
-		Mockito.verify(categoryRepository, Mockito.times(1)).getReferenceById(existingId);
+		Mockito.verify(categoryRepository, Mockito.never()).findAllById(ArgumentMatchers.any());
 		Mockito.verify(repository, Mockito.times(1)).save(entity);
 	}
 
@@ -149,7 +308,7 @@ public class ProductServiceTests {
 		});
 
 		Mockito.verify(repository, Mockito.times(1)).getReferenceById(existingId);
-		Mockito.verify(categoryRepository, Mockito.times(1)).getReferenceById(nonExistingId);
+		Mockito.verify(categoryRepository, Mockito.times(1)).findAllById(Set.of(nonExistingId));
 	}
 
 	@Test
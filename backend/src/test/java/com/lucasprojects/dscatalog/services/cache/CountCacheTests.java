@@ -0,0 +1,34 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
+
+public class CountCacheTests {
+
+	private CountCache cache;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = new CountCache();
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+	}
+
+	@Test
+	public void getShouldIgnoreSelectedFields() {
+		ProductFilter all = new ProductFilter(1L, "tv");
+		ProductFilter some = new ProductFilter(1L, "tv");
+		some.setFields(Set.of("id", "name"));
+
+		cache.put(some, 3L);
+
+		Assertions.assertEquals(3L, cache.get(all));
+		Assertions.assertEquals(Set.of("id", "name"), some.getFields());
+	}
+}
@@ -0,0 +1,89 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+import com.lucasprojects.dscatalog.tests.Factory;
+
+public class ProductJsonCacheTests {
+
+	private ProductJsonCache cache;
+
+	private ProductDTO phone;
+	private byte[] json;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = new ProductJsonCache();
+		ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+		phone = versioned(Factory.createProductDTO());
+		json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+		cache.put(phone, json);
+	}
+
+	@Test
+	public void getShouldReturnJsonOnlyForSameVersions() {
+		ProductDTO same = new ProductDTO(phone);
+		ProductDTO updated = new ProductDTO(phone);
+		updated.setUpdatedAt(phone.getUpdatedAt().plusSeconds(1));
+		ProductDTO recategorized = new ProductDTO(phone);
+		recategorized.getCategories().get(0).setUpdatedAt(Instant.now().plusSeconds(1));
+
+		Assertions.assertArrayEquals(json, cache.get(same));
+		Assertions.assertNull(cache.get(updated));
+		Assertions.assertNull(cache.get(recategorized));
+		Assertions.assertEquals(1, cache.hits());
+		Assertions.assertEquals(2, cache.misses());
+	}
+
+	@Test
+	public void putShouldNotKeepReferenceToMutableProduct() {
+		phone.setUpdatedAt(phone.getUpdatedAt().plusSeconds(1));
+
+		Assertions.assertNull(cache.get(phone));
+	}
+
+	@Test
+	public void putShouldSkipProductWithUnknownVersion() {
+		ProductDTO unversioned = Factory.createProductDTO(new Product(2L, "Novel", "", 10.0, "", null));
+
+		cache.put(unversioned, json);
+
+		Assertions.assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void putShouldEvictLeastRecentlyUsedWhenFull() {
+		ProductDTO book = versioned(Factory.createProductDTO(new Product(2L, "Novel", "", 10.0, "", null)));
+		ProductDTO lamp = versioned(Factory.createProductDTO(new Product(3L, "Lamp", "", 10.0, "", null)));
+		cache.put(book, json);
+		cache.get(phone);
+
+		cache.put(lamp, json);
+
+		Assertions.assertNotNull(cache.get(phone));
+		Assertions.assertNull(cache.get(book));
+	}
+
+	@Test
+	public void productChangeShouldEvictProduct() {
+		cache.onProductChange(ProductChangeEvent.deleted(phone.getId(), phone));
+
+		Assertions.assertEquals(0, cache.size());
+	}
+
+	private static ProductDTO versioned(ProductDTO product) {
+		product.setUpdatedAt(Instant.parse("2022-07-01T10:00:00Z"));
+		product.getCategories().forEach(category -> category.setUpdatedAt(Instant.parse("2022-07-01T09:00:00Z")));
+		return product;
+	}
+}
@@ -0,0 +1,108 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasprojects.dscatalog.entities.Category;
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.repositories.ProductFilter;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+import com.lucasprojects.dscatalog.tests.Factory;
+
+public class ProductQueryCacheTests {
+
+	private ProductQueryCache cache;
+
+	private Pageable pageable;
+	private ProductFilter phones;
+	private ProductFilter books;
+	private ProductDTO phone;
+	private Page<ProductDTO> phonePage;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = new ProductQueryCache();
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+		pageable = PageRequest.of(0, 10);
+		phones = new ProductFilter(1L, "phone");
+		books = new ProductFilter(2L, "");
+		phone = Factory.createProductDTO();
+		phonePage = new PageImpl<>(List.of(phone));
+
+		cache.put(phones, pageable, phonePage, cache.version());
+		cache.put(books, pageable, Page.empty(pageable), cache.version());
+	}
+
+	@Test
+	public void getShouldCountHitsAndMisses() {
+		Assertions.assertSame(phonePage, cache.get(new ProductFilter(1L, "phone"), pageable));
+		Assertions.assertNull(cache.get(phones, PageRequest.of(1, 10)));
+
+		Assertions.assertEquals(1, cache.hits());
+		Assertions.assertEquals(1, cache.misses());
+	}
+
+	@Test
+	public void putShouldEvictLeastRecentlyUsedWhenFull() {
+		cache.get(phones, pageable);
+
+		cache.put(new ProductFilter(3L, ""), pageable, Page.empty(pageable), cache.version());
+
+		Assertions.assertNotNull(cache.get(phones, pageable));
+		Assertions.assertNull(cache.get(books, pageable));
+	}
+
+	@Test
+	public void putShouldDropPageComputedBeforeInvalidation() {
+		long version = cache.version();
+		cache.onProductChange(ProductChangeEvent.inserted(phone));
+
+		cache.put(phones, pageable, phonePage, version);
+
+		Assertions.assertNull(cache.get(phones, pageable));
+	}
+
+	@Test
+	public void productChangeShouldEvictOnlyMatchingPages() {
+		Product book = new Product(5L, "Novel", "", 10.0, "", null);
+		book.getCategories().add(new Category(2L, "Books"));
+
+		cache.onProductChange(ProductChangeEvent.inserted(Factory.createProductDTO(book)));
+
+		Assertions.assertNotNull(cache.get(phones, pageable));
+		Assertions.assertNull(cache.get(books, pageable));
+	}
+
+	@Test
+	public void productChangeShouldEvictPagesMatchingPreviousState() {
+		ProductDTO renamed = Factory.createProductDTO();
+		renamed.setName("Tablet");
+
+		cache.onProductChange(ProductChangeEvent.updated(phone, renamed));
+
+		Assertions.assertNull(cache.get(phones, pageable));
+		Assertions.assertNotNull(cache.get(books, pageable));
+	}
+
+	@Test
+	public void categoryRenameShouldEvictOnlyPagesShowingIt() {
+		cache.onCategoryChange(CategoryChangeEvent.updated(new CategoryDTO(1L, "Phones")));
+
+		Assertions.assertNull(cache.get(phones, pageable));
+		Assertions.assertNotNull(cache.get(books, pageable));
+	}
+}
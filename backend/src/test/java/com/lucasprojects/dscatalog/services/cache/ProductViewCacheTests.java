@@ -0,0 +1,91 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasprojects.dscatalog.entities.Product;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+import com.lucasprojects.dscatalog.tests.Factory;
+
+public class ProductViewCacheTests {
+
+	private ProductViewCache cache;
+
+	private ProductDTO phone;
+	private ProductDTO book;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = new ProductViewCache();
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(cache, "maxEntries", 2);
+
+		phone = Factory.createProductDTO();
+		book = Factory.createProductDTO(new Product(2L, "Novel", "", 10.0, "", null));
+
+		cache.put(phone, cache.version());
+		cache.put(book, cache.version());
+	}
+
+	@Test
+	public void getShouldReturnCopyAndCountHitsAndMisses() {
+		ProductDTO cached = cache.get(phone.getId());
+		cached.setName("Changed");
+		cached.getCategories().clear();
+
+		Assertions.assertEquals(phone.getName(), cache.get(phone.getId()).getName());
+		Assertions.assertFalse(cache.get(phone.getId()).getCategories().isEmpty());
+		Assertions.assertNull(cache.get(3L));
+		Assertions.assertEquals(3, cache.hits());
+		Assertions.assertEquals(1, cache.misses());
+	}
+
+	@Test
+	public void putShouldEvictLeastRecentlyUsedWhenFull() {
+		cache.get(phone.getId());
+
+		cache.put(Factory.createProductDTO(new Product(3L, "Lamp", "", 10.0, "", null)), cache.version());
+
+		Assertions.assertNotNull(cache.get(phone.getId()));
+		Assertions.assertNull(cache.get(book.getId()));
+		Assertions.assertEquals(1, cache.evictions());
+	}
+
+	@Test
+	public void putShouldDropViewLoadedBeforeInvalidation() {
+		long version = cache.version();
+		cache.onProductChange(ProductChangeEvent.updated(phone, phone));
+
+		cache.put(phone, version);
+
+		Assertions.assertNull(cache.get(phone.getId()));
+	}
+
+	@Test
+	public void productChangeShouldWriteInsertedAndEvictUpdatedAndDeleted() {
+		ProductDTO lamp = Factory.createProductDTO(new Product(3L, "Lamp", "", 10.0, "", null));
+
+		cache.onProductChange(ProductChangeEvent.inserted(lamp));
+		cache.onProductChange(ProductChangeEvent.deleted(book.getId(), book));
+
+		Assertions.assertEquals("Lamp", cache.get(3L).getName());
+		Assertions.assertNull(cache.get(book.getId()));
+	}
+
+	@Test
+	public void categoryRenameShouldEvictOnlyProductsInIt() {
+		Long categoryId = phone.getCategories().get(0).getId();
+
+		cache.onCategoryChange(CategoryChangeEvent.updated(new CategoryDTO(categoryId, "Phones")));
+
+		Assertions.assertNull(cache.get(phone.getId()));
+		Assertions.assertNotNull(cache.get(book.getId()));
+	}
+}
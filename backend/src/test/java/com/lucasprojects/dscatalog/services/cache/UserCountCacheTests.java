@@ -0,0 +1,50 @@
+package com.lucasprojects.dscatalog.services.cache;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasprojects.dscatalog.services.events.UserChangeEvent;
+
+public class UserCountCacheTests {
+
+	private UserCountCache cache;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		cache = new UserCountCache();
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ofMinutes(1));
+
+		cache.put(2L);
+	}
+
+	@Test
+	public void getShouldReturnNullWhenExpired() {
+		ReflectionTestUtils.setField(cache, "ttl", Duration.ZERO.minusMillis(1));
+		cache.put(3L);
+
+		Assertions.assertNull(cache.get());
+	}
+
+	@Test
+	public void updateShouldKeepTotal() {
+		cache.onUserChange(UserChangeEvent.updated(1L));
+
+		Assertions.assertEquals(2L, cache.get());
+	}
+
+	@Test
+	public void insertAndDeleteShouldClearTotal() {
+		cache.onUserChange(UserChangeEvent.inserted(3L));
+
+		Assertions.assertNull(cache.get());
+
+		cache.put(3L);
+		cache.onUserChange(UserChangeEvent.deleted(3L));
+
+		Assertions.assertNull(cache.get());
+	}
+}
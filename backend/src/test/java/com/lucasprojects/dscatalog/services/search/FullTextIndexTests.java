@@ -0,0 +1,71 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class FullTextIndexTests {
+
+	private FullTextIndex index;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		index = new FullTextIndex();
+		index.put(1L, "PC Gamer", "Fast computer for games");
+		index.put(2L, "Office Computer", "Quiet computer for the office, not for games");
+		index.put(3L, "Smart TV", "Large screen");
+	}
+
+	@Test
+	public void searchShouldRankNameMatchesFirst() {
+		FullTextIndex.Result result = index.search("computer", null, 10);
+
+		Assertions.assertEquals(List.of(2L, 1L), result.getIds());
+		Assertions.assertEquals(2, result.getTotal());
+	}
+
+	@Test
+	public void searchShouldKeepOnlyTopResultsButCountAll() {
+		FullTextIndex.Result result = index.search("games screen", null, 1);
+
+		Assertions.assertEquals(1, result.getIds().size());
+		Assertions.assertEquals(3, result.getTotal());
+	}
+
+	@Test
+	public void searchShouldReturnAllMatchesWhenLimitIsHuge() {
+		FullTextIndex.Result result = index.search("computer", null, Integer.MAX_VALUE);
+
+		Assertions.assertEquals(List.of(2L, 1L), result.getIds());
+	}
+
+	@Test
+	public void searchShouldSkipProductsNotAllowed() {
+		BitSet allowed = new BitSet();
+		allowed.set(1);
+
+		Assertions.assertEquals(List.of(1L), index.search("computer", allowed, 10).getIds());
+	}
+
+	@Test
+	public void putShouldReplacePreviousText() {
+		index.put(3L, "Smart Computer", null);
+
+		Assertions.assertTrue(index.search("screen", null, 10).getIds().isEmpty());
+		Assertions.assertEquals(3, index.search("computer", null, 10).getTotal());
+	}
+
+	@Test
+	public void removeShouldReleaseTermsAndMemory() {
+		long before = index.memoryBytes();
+
+		index.remove(3L);
+
+		Assertions.assertTrue(index.search("tv", null, 10).getIds().isEmpty());
+		Assertions.assertEquals(2, index.size());
+		Assertions.assertTrue(index.memoryBytes() < before);
+	}
+}
@@ -0,0 +1,97 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lucasprojects.dscatalog.entities.dtos.ProductDTO;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+
+public class PriceIndexTests {
+
+	private PriceIndex index;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		index = new PriceIndex();
+		index.put(1L, 90.5);
+		index.put(2L, 2190.0);
+		index.put(3L, 1250.0);
+		index.put(4L, 1250.0);
+		index.put(5L, null);
+	}
+
+	@Test
+	public void rangeShouldIncludeBothBounds() {
+		BitSet result = index.range(1250.0, 2190.0);
+
+		Assertions.assertEquals(3, result.cardinality());
+		Assertions.assertTrue(result.get(2));
+		Assertions.assertTrue(result.get(3));
+		Assertions.assertTrue(result.get(4));
+	}
+
+	@Test
+	public void rangeShouldBeOpenWhenBoundIsNull() {
+		Assertions.assertEquals(3, index.range(null, 1250.0).cardinality());
+		Assertions.assertEquals(4, index.range(0.0, null).cardinality());
+	}
+
+	@Test
+	public void rangeShouldReturnEmptyWhenNothingMatches() {
+		Assertions.assertTrue(index.range(3000.0, 4000.0).isEmpty());
+		Assertions.assertTrue(index.range(100.0, 1000.0).isEmpty());
+	}
+
+	@Test
+	public void putShouldMoveProductToNewPrice() {
+		index.put(1L, 3000.0);
+
+		Assertions.assertFalse(index.range(null, 100.0).get(1));
+		Assertions.assertTrue(index.range(2500.0, null).get(1));
+		Assertions.assertEquals(4, index.size());
+	}
+
+	@Test
+	public void putShouldKeepOneEntryWhenPriceIsUnchanged() {
+		index.put(3L, 1250.0);
+		index.put(3L, 1250.0);
+
+		Assertions.assertEquals(4, index.size());
+		Assertions.assertEquals(2, index.range(1250.0, 1250.0).cardinality());
+	}
+
+	@Test
+	public void removeShouldDropProductFromResults() {
+		index.remove(3L);
+
+		BitSet result = index.range(1250.0, 1250.0);
+
+		Assertions.assertEquals(1, result.cardinality());
+		Assertions.assertTrue(result.get(4));
+	}
+
+	@Test
+	public void bulkChangeShouldApplyKnownProductsWithoutReloading() {
+		ProductDTO moved = new ProductDTO(1L, "Phone", null, 3000.0, null, null);
+		ProductDTO added = new ProductDTO(6L, "Tablet", null, 1250.0, null, null);
+
+		index.onProductBulkChange(new ProductBulkChangeEvent(List.of(moved, added)));
+
+		Assertions.assertEquals(5, index.size());
+		Assertions.assertTrue(index.range(null, 100.0).isEmpty());
+		Assertions.assertTrue(index.range(3000.0, 3000.0).get(1));
+		Assertions.assertEquals(3, index.range(1250.0, 1250.0).cardinality());
+	}
+
+	@Test
+	public void bulkDeleteShouldRemoveKnownIdsWithoutReloading() {
+		index.onProductBulkChange(new ProductBulkChangeEvent(1, List.of(3L, 1000L)));
+
+		Assertions.assertEquals(3, index.size());
+		Assertions.assertEquals(1, index.range(1250.0, 1250.0).cardinality());
+	}
+}
@@ -0,0 +1,109 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.lucasprojects.dscatalog.repositories.ProductRepository;
+
+public class ProductNameIndexTests {
+
+	private ProductNameIndex index;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		index = new ProductNameIndex();
+		index.put(1L, "PC Gamer");
+		index.put(2L, "PC Gamer Alfa");
+		index.put(3L, "Macbook Pro");
+	}
+
+	@Test
+	public void searchShouldMatchSubstringIgnoringCase() {
+		BitSet result = index.search("GAMER");
+
+		Assertions.assertEquals(2, result.cardinality());
+		Assertions.assertTrue(result.get(1));
+		Assertions.assertTrue(result.get(2));
+	}
+
+	@Test
+	public void searchShouldMatchQueriesShorterThanGram() {
+		BitSet result = index.search("ro");
+
+		Assertions.assertEquals(1, result.cardinality());
+		Assertions.assertTrue(result.get(3));
+	}
+
+	@Test
+	public void searchShouldReturnEmptyWhenNothingMatches() {
+		Assertions.assertTrue(index.search("headphones").isEmpty());
+	}
+
+	@Test
+	public void putShouldReplacePreviousName() {
+		index.put(3L, "Smart TV");
+
+		Assertions.assertTrue(index.search("macbook").isEmpty());
+		Assertions.assertTrue(index.search("smart").get(3));
+	}
+
+	@Test
+	public void removeShouldDropProductFromResults() {
+		index.remove(1L);
+
+		BitSet result = index.search("gamer");
+
+		Assertions.assertEquals(1, result.cardinality());
+		Assertions.assertTrue(result.get(2));
+	}
+
+	@Test
+	public void fuzzySearchShouldToleratePlainTypos() {
+		Assertions.assertEquals(List.of(3L), index.fuzzySearch("macbok"));
+		Assertions.assertEquals(List.of(3L), index.fuzzySearch("mcabook pro"));
+	}
+
+	@Test
+	public void fuzzySearchShouldRankCloserAndShorterNamesFirst() {
+		index.put(4L, "PC Gamr");
+
+		Assertions.assertEquals(List.of(1L, 2L, 4L), index.fuzzySearch("gamer"));
+		Assertions.assertEquals(List.of(2L), index.fuzzySearch("gamer alfa"));
+	}
+
+	@Test
+	public void fuzzySearchShouldReturnEmptyWhenTooFar() {
+		Assertions.assertTrue(index.fuzzySearch("headphones").isEmpty());
+		Assertions.assertFalse(index.fuzzySearch("pc").isEmpty());
+		Assertions.assertTrue(index.fuzzySearch("px").isEmpty());
+	}
+
+	@Test
+	public void distanceShouldStopAboveMax() {
+		Assertions.assertEquals(1, ProductNameIndex.distance("headphnes", "headphones", 2));
+		Assertions.assertEquals(1, ProductNameIndex.distance("gamre", "gamer", 1));
+		Assertions.assertEquals(3, ProductNameIndex.distance("mouse", "keyboard", 2));
+	}
+
+	@Test
+	public void rebuildShouldKeepAnsweringFromPreviousStateUntilLoaded() {
+		ProductRepository repository = Mockito.mock(ProductRepository.class);
+		ReflectionTestUtils.setField(index, "repository", repository);
+		Mockito.when(repository.findAllNames()).thenAnswer(invocation -> {
+			Assertions.assertEquals(2, index.search("gamer").cardinality());
+			return List.<Object[]>of(new Object[] { 5L, "Gamer Chair" });
+		});
+
+		index.rebuild();
+
+		BitSet result = index.search("gamer");
+		Assertions.assertEquals(1, result.cardinality());
+		Assertions.assertTrue(result.get(5));
+	}
+}
@@ -0,0 +1,62 @@
+package com.lucasprojects.dscatalog.services.search;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.lucasprojects.dscatalog.entities.dtos.SuggestionDTO;
+import com.lucasprojects.dscatalog.entities.dtos.SuggestionDTO.Type;
+
+public class SuggestionIndexTests {
+
+	private SuggestionIndex index;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		index = new SuggestionIndex();
+		index.put(Type.PRODUCT, 1L, "PC Gamer");
+		index.put(Type.PRODUCT, 2L, "PC Gamer Alfa");
+		index.put(Type.PRODUCT, 3L, "Macbook Pro");
+		index.put(Type.CATEGORY, 1L, "Computadores");
+		index.put(Type.PRODUCT, 4L, "PC Gamer");
+	}
+
+	@Test
+	public void suggestShouldReturnNamesStartingWithPrefixInOrder() {
+		List<SuggestionDTO> result = index.suggest("pc g", 10);
+
+		Assertions.assertEquals(3, result.size());
+		Assertions.assertEquals(1L, result.get(0).getId());
+		Assertions.assertEquals(4L, result.get(1).getId());
+		Assertions.assertEquals("PC Gamer Alfa", result.get(2).getName());
+	}
+
+	@Test
+	public void suggestShouldStopAtLimit() {
+		Assertions.assertEquals(2, index.suggest("PC", 2).size());
+	}
+
+	@Test
+	public void suggestShouldReturnEmptyWhenNothingMatches() {
+		Assertions.assertTrue(index.suggest("smart", 10).isEmpty());
+	}
+
+	@Test
+	public void putShouldReplacePreviousName() {
+		index.put(Type.CATEGORY, 1L, "Livros");
+
+		Assertions.assertTrue(index.suggest("comp", 10).isEmpty());
+		Assertions.assertEquals(Type.CATEGORY, index.suggest("liv", 10).get(0).getType());
+	}
+
+	@Test
+	public void removeShouldOnlyDropGivenType() {
+		index.remove(Type.CATEGORY, 3L);
+		index.remove(Type.PRODUCT, 3L);
+
+		Assertions.assertTrue(index.suggest("mac", 10).isEmpty());
+		Assertions.assertEquals(1, index.suggest("comp", 10).size());
+	}
+}
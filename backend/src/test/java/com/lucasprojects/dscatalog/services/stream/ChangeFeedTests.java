@@ -0,0 +1,139 @@
+package com.lucasprojects.dscatalog.services.stream;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.lucasprojects.dscatalog.entities.dtos.CategoryDTO;
+import com.lucasprojects.dscatalog.services.events.CategoryChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductBulkChangeEvent;
+import com.lucasprojects.dscatalog.services.events.ProductChangeEvent;
+import com.lucasprojects.dscatalog.tests.Factory;
+
+public class ChangeFeedTests {
+
+	private ChangeFeed feed;
+	private List<Runnable> tasks;
+	private RecordingEmitter emitter;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		feed = new ChangeFeed();
+		tasks = new ArrayList<>();
+		ReflectionTestUtils.setField(feed, "bufferSize", 2);
+		ReflectionTestUtils.setField(feed, "timeout", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(feed, "maxSubscribers", 1);
+		ReflectionTestUtils.setField(feed, "sendTimeout", Duration.ofMinutes(1));
+		ReflectionTestUtils.setField(feed, "executor", (TaskExecutor) tasks::add);
+
+		emitter = new RecordingEmitter();
+		feed.register(emitter);
+	}
+
+	@Test
+	public void publishShouldSendEventsInOrderFromOneTask() {
+		feed.onProductChange(ProductChangeEvent.inserted(Factory.createProductDTO()));
+		feed.onCategoryChange(CategoryChangeEvent.updated(new CategoryDTO(1L, "Books")));
+
+		Assertions.assertEquals(1, tasks.size());
+		tasks.get(0).run();
+
+		Assertions.assertEquals(2, emitter.events.size());
+		Assertions.assertTrue(emitter.events.get(0).contains("event:product"));
+		Assertions.assertTrue(emitter.events.get(0).contains("\"type\":\"INSERTED\""));
+		Assertions.assertTrue(emitter.events.get(1).contains("event:category"));
+	}
+
+	@Test
+	public void bulkChangeShouldSendChangedAndDeletedIds() {
+		feed.onProductBulkChange(new ProductBulkChangeEvent(List.of(Factory.createProductDTO())));
+		feed.onProductBulkChange(new ProductBulkChangeEvent(2, List.of(3L, 4L)));
+		tasks.get(0).run();
+
+		Assertions.assertEquals(2, emitter.events.size());
+		Assertions.assertTrue(emitter.events.get(0).contains("\"changedIds\":[1]"));
+		Assertions.assertTrue(emitter.events.get(1).contains("\"deletedIds\":[3,4]"));
+	}
+
+	@Test
+	public void publishShouldReplacePendingEventsWithOverflowWhenBufferIsFull() {
+		for (int i = 0; i < 3; i++) {
+			feed.onProductChange(ProductChangeEvent.deleted((long) i, null));
+		}
+		tasks.get(0).run();
+
+		Assertions.assertEquals(1, emitter.events.size());
+		Assertions.assertTrue(emitter.events.get(0).contains("event:overflow"));
+	}
+
+	@Test
+	public void sendFailureShouldUnsubscribe() {
+		emitter.failing = true;
+		feed.onProductChange(ProductChangeEvent.deleted(1L, null));
+		tasks.get(0).run();
+
+		Assertions.assertEquals(0, feed.subscriberCount());
+	}
+
+	@Test
+	public void registerShouldThrowTooManySubscribersExceptionWhenFull() {
+		Assertions.assertThrows(TooManySubscribersException.class, () -> {
+			feed.register(new RecordingEmitter());
+		});
+	}
+
+	@Test
+	public void publishShouldDropSubscriberWhoseSendIsBlocked() {
+		ReflectionTestUtils.setField(feed, "sendTimeout", Duration.ZERO);
+		emitter.duringSend = () -> feed.onProductChange(ProductChangeEvent.deleted(2L, null));
+		feed.onProductChange(ProductChangeEvent.deleted(1L, null));
+		tasks.get(0).run();
+
+		Assertions.assertEquals(0, feed.subscriberCount());
+		Assertions.assertEquals(1, emitter.events.size());
+		Assertions.assertEquals(1, tasks.size());
+	}
+
+	private static class RecordingEmitter extends SseEmitter {
+
+		private static final ObjectMapper MAPPER = new ObjectMapper().findAndRegisterModules()
+				.setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+		private final List<String> events = new ArrayList<>();
+		private boolean failing;
+		private Runnable duringSend;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (failing) {
+				throw new IOException("Broken pipe");
+			}
+			if (duringSend != null) {
+				Runnable task = duringSend;
+				duringSend = null;
+				task.run();
+			}
+			events.add(builder.build().stream().map(data -> data.getData() instanceof String text ? text : toJson(data.getData()))
+					.collect(Collectors.joining()));
+		}
+
+		private static String toJson(Object data) {
+			try {
+				return MAPPER.writeValueAsString(data);
+			} catch (IOException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}